@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link org.jboss.as.controller.AttributeDefinition#validateAndSet(ModelNode, ModelNode)}, which
+ * every add and write-attribute operation goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AttributeDefinitionBenchmark {
+
+    private ModelNode operation;
+    private ModelNode expressionOperation;
+
+    @Setup
+    public void setup() {
+        operation = ModelFixtures.createAddOperation(ModelFixtures.getMiddleEntryAddress(1000), "entry", 42);
+        expressionOperation = operation.clone();
+        expressionOperation.get(ModelFixtures.COUNT_ATTRIBUTE.getName()).set("${benchmark.count:42}");
+    }
+
+    @Benchmark
+    public ModelNode validateAndSet() throws OperationFailedException {
+        final ModelNode model = new ModelNode();
+        ModelFixtures.NAME_ATTRIBUTE.validateAndSet(operation, model);
+        ModelFixtures.COUNT_ATTRIBUTE.validateAndSet(operation, model);
+        return model;
+    }
+
+    @Benchmark
+    public ModelNode validateAndSetExpression() throws OperationFailedException {
+        final ModelNode model = new ModelNode();
+        ModelFixtures.COUNT_ATTRIBUTE.validateAndSet(expressionOperation, model);
+        return model;
+    }
+}
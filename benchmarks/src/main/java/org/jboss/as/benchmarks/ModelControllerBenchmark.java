@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks end to end execution of management operations by {@link ModelController#execute}, including
+ * scheduling of the steps of a composite operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ModelControllerBenchmark {
+
+    private static final int COMPOSITE_STEPS = 20;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private ServiceContainer container;
+    private ModelController controller;
+    private ModelNode readAttribute;
+    private ModelNode readResource;
+    private ModelNode readResourceRecursive;
+    private ModelNode writeAttribute;
+    private ModelNode composite;
+    private int counter;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        container = ServiceContainer.Factory.create("benchmark");
+        controller = BenchmarkControllerService.install(container, size);
+
+        final PathAddress entry = ModelFixtures.getMiddleEntryAddress(size);
+        readAttribute = ModelFixtures.createOperation(READ_ATTRIBUTE_OPERATION, entry);
+        readAttribute.get(NAME).set(NAME);
+        readResource = ModelFixtures.createOperation(READ_RESOURCE_OPERATION, entry);
+        readResourceRecursive = ModelFixtures.createOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(entry.getElement(0)));
+        readResourceRecursive.get(RECURSIVE).set(true);
+        writeAttribute = ModelFixtures.createOperation(WRITE_ATTRIBUTE_OPERATION, entry);
+        writeAttribute.get(NAME).set(ModelFixtures.COUNT_ATTRIBUTE.getName());
+
+        composite = ModelFixtures.createOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        final ModelNode steps = composite.get(STEPS).setEmptyList();
+        for (int i = 0; i < COMPOSITE_STEPS; i++) {
+            final PathAddress address = PathAddress.pathAddress(PathElement.pathElement(ModelFixtures.CHILD, "child-" + i),
+                    PathElement.pathElement(ModelFixtures.ENTRY, "entry-0"));
+            final ModelNode step = ModelFixtures.createOperation(READ_ATTRIBUTE_OPERATION, address);
+            step.get(NAME).set(NAME);
+            steps.add(step);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        BenchmarkControllerService.shutdown(container);
+    }
+
+    @Benchmark
+    public ModelNode readAttribute() {
+        return execute(readAttribute);
+    }
+
+    @Benchmark
+    public ModelNode readResource() {
+        return execute(readResource);
+    }
+
+    @Benchmark
+    public ModelNode readResourceRecursive() {
+        return execute(readResourceRecursive);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() {
+        writeAttribute.get(VALUE).set(counter++);
+        return execute(writeAttribute);
+    }
+
+    @Benchmark
+    public ModelNode compositeReadAttributes() {
+        return execute(composite);
+    }
+
+    private ModelNode execute(ModelNode operation) {
+        final ModelNode result = controller.execute(operation, null, null, null);
+        if (!SUCCESS.equals(result.get(OUTCOME).asString())) {
+            throw new IllegalStateException(result.toString());
+        }
+        return result;
+    }
+}
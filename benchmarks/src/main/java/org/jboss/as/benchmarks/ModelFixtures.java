@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Synthetic management models shared by the benchmarks.
+ * <p>
+ * A model of a given size consists of {@code child=*} resources below the root, each of which has
+ * {@link #ENTRIES_PER_CHILD} {@code entry=*} resources, so that operations have to navigate a few levels deep.
+ * </p>
+ */
+final class ModelFixtures {
+
+    static final String CHILD = "child";
+    static final String ENTRY = "entry";
+    static final int ENTRIES_PER_CHILD = 9;
+
+    static final SimpleAttributeDefinition NAME_ATTRIBUTE = new SimpleAttributeDefinitionBuilder(NAME, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .build();
+
+    static final SimpleAttributeDefinition COUNT_ATTRIBUTE = new SimpleAttributeDefinitionBuilder("count", ModelType.INT, true)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .setAllowExpression(true)
+            .build();
+
+    static final SimpleResourceDefinition ENTRY_DEFINITION = new ModelOnlyResourceDefinition(PathElement.pathElement(ENTRY));
+
+    static final SimpleResourceDefinition CHILD_DEFINITION = new ModelOnlyResourceDefinition(PathElement.pathElement(CHILD)) {
+        @Override
+        public void registerChildren(ManagementResourceRegistration resourceRegistration) {
+            resourceRegistration.registerSubModel(ENTRY_DEFINITION);
+        }
+    };
+
+    private ModelFixtures() {
+    }
+
+    /**
+     * Creates a resource tree with (roughly) the given number of resources.
+     *
+     * @param size the number of resources
+     * @return the root resource
+     */
+    static Resource createResourceTree(int size) {
+        final Resource root = Resource.Factory.create();
+        populate(root, size);
+        return root;
+    }
+
+    /**
+     * Adds the resources of a model created by {@link #createResourceTree(int)} to an existing root resource.
+     *
+     * @param root the root resource
+     * @param size the number of resources
+     */
+    static void populate(Resource root, int size) {
+        final int children = Math.max(1, size / (ENTRIES_PER_CHILD + 1));
+        for (int i = 0; i < children; i++) {
+            final Resource child = createResource("child-" + i, i);
+            for (int j = 0; j < ENTRIES_PER_CHILD; j++) {
+                child.registerChild(PathElement.pathElement(ENTRY, "entry-" + j), createResource("entry-" + j, j));
+            }
+            root.registerChild(PathElement.pathElement(CHILD, "child-" + i), child);
+        }
+    }
+
+    /**
+     * Gets the address of an {@code entry} resource roughly in the middle of a model created by
+     * {@link #createResourceTree(int)}.
+     *
+     * @param size the size the model was created with
+     * @return the address
+     */
+    static PathAddress getMiddleEntryAddress(int size) {
+        final int children = Math.max(1, size / (ENTRIES_PER_CHILD + 1));
+        return PathAddress.pathAddress(PathElement.pathElement(CHILD, "child-" + (children / 2)),
+                PathElement.pathElement(ENTRY, "entry-" + (ENTRIES_PER_CHILD / 2)));
+    }
+
+    static ModelNode createOperation(String name, PathAddress address) {
+        final ModelNode op = new ModelNode();
+        op.get(OP).set(name);
+        op.get(OP_ADDR).set(address.toModelNode());
+        return op;
+    }
+
+    static ModelNode createAddOperation(PathAddress address, String name, int count) {
+        final ModelNode op = createOperation(ADD, address);
+        op.get(NAME).set(name);
+        op.get(COUNT_ATTRIBUTE.getName()).set(count);
+        return op;
+    }
+
+    private static Resource createResource(String name, int count) {
+        final Resource resource = Resource.Factory.create();
+        final ModelNode model = resource.getModel();
+        model.get(NAME).set(name);
+        model.get(COUNT_ATTRIBUTE.getName()).set(count);
+        return resource;
+    }
+
+    private static class ModelOnlyResourceDefinition extends SimpleResourceDefinition {
+
+        ModelOnlyResourceDefinition(PathElement pathElement) {
+            super(pathElement, new NonResolvingResourceDescriptionResolver(),
+                    new ModelOnlyAddStepHandler(NAME_ATTRIBUTE, COUNT_ATTRIBUTE), ModelOnlyRemoveStepHandler.INSTANCE);
+        }
+
+        @Override
+        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+            final ModelOnlyWriteAttributeHandler writeHandler = new ModelOnlyWriteAttributeHandler(NAME_ATTRIBUTE, COUNT_ATTRIBUTE);
+            resourceRegistration.registerReadWriteAttribute(NAME_ATTRIBUTE, null, writeHandler);
+            resourceRegistration.registerReadWriteAttribute(COUNT_ATTRIBUTE, null, writeHandler);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link PathAddress} creation from an operation address and the comparisons done in registry lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PathAddressBenchmark {
+
+    private ModelNode addressNode;
+    private PathAddress address;
+    private PathAddress equalAddress;
+    private PathAddress otherAddress;
+
+    @Setup
+    public void setup() {
+        address = PathAddress.pathAddress(PathElement.pathElement("profile", "full-ha"),
+                PathElement.pathElement("subsystem", "datasources"),
+                PathElement.pathElement("data-source", "ExampleDS"));
+        addressNode = address.toModelNode();
+        equalAddress = PathAddress.pathAddress(addressNode);
+        otherAddress = PathAddress.pathAddress(PathElement.pathElement("profile", "full-ha"),
+                PathElement.pathElement("subsystem", "datasources"),
+                PathElement.pathElement("data-source", "OtherDS"));
+    }
+
+    @Benchmark
+    public PathAddress parse() {
+        return PathAddress.pathAddress(addressNode);
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return address.equals(equalAddress);
+    }
+
+    @Benchmark
+    public boolean equalsDifferent() {
+        return address.equals(otherAddress);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return equalAddress.hashCode();
+    }
+
+    @Benchmark
+    public PathAddress parent() {
+        return address.getParent();
+    }
+
+    @Benchmark
+    public ModelNode toModelNode() {
+        return address.toModelNode();
+    }
+}
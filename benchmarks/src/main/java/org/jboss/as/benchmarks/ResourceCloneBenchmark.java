@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the copies of the model taken for updates, and reading the whole model as done for persistence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResourceCloneBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Resource published;
+    private Resource unpublished;
+    private PathAddress entry;
+
+    @Setup
+    public void setup() {
+        published = ModelFixtures.createResourceTree(size);
+        Resource.Tools.markPublished(published);
+        unpublished = ModelFixtures.createResourceTree(size);
+        entry = ModelFixtures.getMiddleEntryAddress(size);
+    }
+
+    /**
+     * Copy of the published model, as taken by the first update of an operation.
+     */
+    @Benchmark
+    public Resource clonePublished() {
+        return published.clone();
+    }
+
+    /**
+     * Copy of the published model plus modification of a single resource.
+     */
+    @Benchmark
+    public Resource clonePublishedAndWrite() {
+        final Resource copy = published.clone();
+        copy.navigate(entry).getModel().get(ModelFixtures.COUNT_ATTRIBUTE.getName()).set(size);
+        return copy;
+    }
+
+    /**
+     * Full copy of a tree that is not known to be unmodifiable.
+     */
+    @Benchmark
+    public Resource cloneUnpublished() {
+        return unpublished.clone();
+    }
+
+    @Benchmark
+    public ModelNode readModel() {
+        return Resource.Tools.readModel(published);
+    }
+}
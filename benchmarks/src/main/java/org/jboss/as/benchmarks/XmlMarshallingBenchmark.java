@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
+import org.jboss.as.controller.persistence.ModelMarshallingContext;
+import org.jboss.as.controller.persistence.XmlConfigurationPersister;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks marshalling of the model to XML by {@link XmlConfigurationPersister}, as done when persisting each
+ * configuration change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class XmlMarshallingBenchmark {
+
+    private static final String NAMESPACE = "urn:wildfly:benchmark:1.0";
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private File file;
+    private XmlConfigurationPersister persister;
+    private ModelNode model;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("benchmark", ".xml");
+        persister = new XmlConfigurationPersister(file, new QName(NAMESPACE, "server"), new RootParser(), new RootWriter());
+        model = Resource.Tools.readModel(ModelFixtures.createResourceTree(size));
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int marshallAsXml() throws ConfigurationPersistenceException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(1024 * 1024);
+        persister.marshallAsXml(model, output);
+        return output.size();
+    }
+
+    private static class RootWriter implements XMLElementWriter<ModelMarshallingContext> {
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, ModelMarshallingContext context) throws XMLStreamException {
+            writer.writeStartDocument();
+            writer.writeStartElement("server");
+            writer.writeDefaultNamespace(NAMESPACE);
+            final ModelNode model = context.getModelNode();
+            if (model.hasDefined(ModelFixtures.CHILD)) {
+                for (Property child : model.get(ModelFixtures.CHILD).asPropertyList()) {
+                    writer.writeStartElement(ModelFixtures.CHILD);
+                    writeAttributes(writer, child);
+                    if (child.getValue().hasDefined(ModelFixtures.ENTRY)) {
+                        for (Property entry : child.getValue().get(ModelFixtures.ENTRY).asPropertyList()) {
+                            writer.writeEmptyElement(ModelFixtures.ENTRY);
+                            writeAttributes(writer, entry);
+                        }
+                    }
+                    writer.writeEndElement();
+                }
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+
+        private static void writeAttributes(XMLExtendedStreamWriter writer, Property resource) throws XMLStreamException {
+            writer.writeAttribute(NAME, resource.getName());
+            ModelFixtures.COUNT_ATTRIBUTE.marshallAsAttribute(resource.getValue(), writer);
+        }
+    }
+
+    private static class RootParser implements XMLElementReader<List<ModelNode>> {
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
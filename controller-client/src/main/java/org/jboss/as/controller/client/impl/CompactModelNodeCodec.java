@@ -0,0 +1,513 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.client.impl;
+
+import static java.lang.System.getProperty;
+import static java.lang.System.getSecurityManager;
+import static java.security.AccessController.doPrivileged;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jboss.as.controller.client.logging.ControllerClientLogger;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.jboss.dmr.ValueExpression;
+
+/**
+ * Writes and reads {@link ModelNode}s in the management protocol messages. Peers that negotiated a protocol version
+ * of at least {@link ManagementProtocol#VERSION_COMPACT_DMR} prefix the node with a format byte and may use a compact
+ * encoding; older peers get the standard {@link ModelNode#writeExternal(DataOutput)} encoding.
+ * <p>
+ * The compact encoding writes every string only once per message and refers back to it by index afterwards, which
+ * removes the repeated keys ({@code outcome}, {@code result}, attribute names) that dominate large results. Lengths
+ * and integral values are written as variable length integers, and large payloads are deflated.
+ */
+public final class CompactModelNodeCodec {
+
+    /** The node follows in the standard {@link ModelNode#writeExternal(DataOutput)} encoding. */
+    static final byte FORMAT_STANDARD = 0x0;
+    /** The node follows in the compact encoding. */
+    static final byte FORMAT_COMPACT = 0x1;
+    /** The node follows in the compact encoding, deflated. */
+    static final byte FORMAT_COMPACT_DEFLATED = 0x2;
+
+    /** Encoded payloads larger than this are deflated. */
+    static final int DEFLATE_THRESHOLD = 8 * 1024;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(readProperty("jboss.management.compact-dmr", "true"));
+
+    private static final byte TAG_UNDEFINED = 0x0;
+    private static final byte TAG_TRUE = 0x1;
+    private static final byte TAG_FALSE = 0x2;
+    private static final byte TAG_INT = 0x3;
+    private static final byte TAG_LONG = 0x4;
+    private static final byte TAG_DOUBLE = 0x5;
+    private static final byte TAG_BIG_INTEGER = 0x6;
+    private static final byte TAG_BIG_DECIMAL = 0x7;
+    private static final byte TAG_BYTES = 0x8;
+    private static final byte TAG_STRING = 0x9;
+    private static final byte TAG_EXPRESSION = 0xA;
+    private static final byte TAG_TYPE = 0xB;
+    private static final byte TAG_LIST = 0xC;
+    private static final byte TAG_OBJECT = 0xD;
+    private static final byte TAG_PROPERTY = 0xE;
+
+    private CompactModelNodeCodec() {
+    }
+
+    /**
+     * Whether the peers of a message support the compact encoding.
+     *
+     * @param header the header of the message, carrying the negotiated protocol version
+     * @return {@code true} if the message body starts with a format byte
+     */
+    public static boolean isSupported(final ManagementProtocolHeader header) {
+        return header.getVersion() >= ManagementProtocol.VERSION_COMPACT_DMR;
+    }
+
+    /**
+     * Write a model node, using the compact encoding if the message header allows it.
+     *
+     * @param node the node to write
+     * @param header the header of the message the node is part of
+     * @param output the output
+     * @throws IOException for any error
+     */
+    public static void writeModelNode(final ModelNode node, final ManagementProtocolHeader header, final DataOutput output) throws IOException {
+        if (!isSupported(header)) {
+            node.writeExternal(output);
+        } else if (!ENABLED) {
+            output.writeByte(FORMAT_STANDARD);
+            node.writeExternal(output);
+        } else {
+            writeCompact(node, output);
+        }
+    }
+
+    /**
+     * Read a model node written by {@link #writeModelNode(ModelNode, ManagementProtocolHeader, DataOutput)}.
+     *
+     * @param header the header of the message the node is part of
+     * @param input the input
+     * @return the node
+     * @throws IOException for any error
+     */
+    public static ModelNode readModelNode(final ManagementProtocolHeader header, final DataInput input) throws IOException {
+        final ModelNode node = new ModelNode();
+        if (!isSupported(header)) {
+            node.readExternal(input);
+            return node;
+        }
+        final byte format = input.readByte();
+        switch (format) {
+            case FORMAT_STANDARD:
+                node.readExternal(input);
+                break;
+            case FORMAT_COMPACT: {
+                final byte[] payload = new byte[readLength(input)];
+                input.readFully(payload);
+                new Decoder(payload).readNode(node);
+                break;
+            }
+            case FORMAT_COMPACT_DEFLATED: {
+                final byte[] payload = new byte[readLength(input)];
+                final byte[] deflated = new byte[readLength(input)];
+                input.readFully(deflated);
+                inflate(deflated, payload);
+                new Decoder(payload).readNode(node);
+                break;
+            }
+            default:
+                throw ControllerClientLogger.ROOT_LOGGER.unknownModelNodeFormat(Integer.toHexString(format));
+        }
+        return node;
+    }
+
+    static void writeCompact(final ModelNode node, final DataOutput output) throws IOException {
+        final Encoder encoder = new Encoder();
+        encoder.writeNode(node);
+        encoder.flush();
+        final byte[] payload = encoder.bytes.toByteArray();
+        if (payload.length > DEFLATE_THRESHOLD) {
+            final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(payload);
+                deflater.finish();
+                final ByteArrayOutputStream deflated = new ByteArrayOutputStream(payload.length / 4);
+                final byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    deflated.write(buffer, 0, deflater.deflate(buffer));
+                }
+                output.writeByte(FORMAT_COMPACT_DEFLATED);
+                writeVarInt(output, payload.length);
+                writeVarInt(output, deflated.size());
+                output.write(deflated.toByteArray());
+            } finally {
+                deflater.end();
+            }
+        } else {
+            output.writeByte(FORMAT_COMPACT);
+            writeVarInt(output, payload.length);
+            output.write(payload);
+        }
+    }
+
+    private static void inflate(final byte[] deflated, final byte[] payload) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            int offset = 0;
+            while (offset < payload.length) {
+                final int count = inflater.inflate(payload, offset, payload.length - offset);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("truncated payload");
+                }
+                offset += count;
+            }
+        } catch (DataFormatException e) {
+            throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int readLength(final DataInput input) throws IOException {
+        final int length = readVarInt(input);
+        if (length < 0) {
+            throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("negative length");
+        }
+        return length;
+    }
+
+    static void writeVarInt(final DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    static int readVarInt(final DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("malformed variable length integer");
+    }
+
+    private static String readProperty(final String name, final String defaultValue) {
+        final String value = getSecurityManager() == null ? getProperty(name) : doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                return getProperty(name);
+            }
+        });
+        return value == null ? defaultValue : value;
+    }
+
+    private static final class Encoder {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream output = new DataOutputStream(bytes);
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+        void writeNode(final ModelNode node) throws IOException {
+            final ModelType type = node.getType();
+            switch (type) {
+                case UNDEFINED:
+                    output.writeByte(TAG_UNDEFINED);
+                    break;
+                case BOOLEAN:
+                    output.writeByte(node.asBoolean() ? TAG_TRUE : TAG_FALSE);
+                    break;
+                case INT:
+                    output.writeByte(TAG_INT);
+                    writeVarLong(zigZag(node.asInt()));
+                    break;
+                case LONG:
+                    output.writeByte(TAG_LONG);
+                    writeVarLong(zigZag(node.asLong()));
+                    break;
+                case DOUBLE:
+                    output.writeByte(TAG_DOUBLE);
+                    output.writeDouble(node.asDouble());
+                    break;
+                case BIG_INTEGER:
+                    output.writeByte(TAG_BIG_INTEGER);
+                    writeBytes(node.asBigInteger().toByteArray());
+                    break;
+                case BIG_DECIMAL: {
+                    final BigDecimal value = node.asBigDecimal();
+                    output.writeByte(TAG_BIG_DECIMAL);
+                    writeVarLong(zigZag(value.scale()));
+                    writeBytes(value.unscaledValue().toByteArray());
+                    break;
+                }
+                case BYTES:
+                    output.writeByte(TAG_BYTES);
+                    writeBytes(node.asBytes());
+                    break;
+                case STRING:
+                    output.writeByte(TAG_STRING);
+                    writeString(node.asString());
+                    break;
+                case EXPRESSION:
+                    output.writeByte(TAG_EXPRESSION);
+                    writeString(node.asExpression().getExpressionString());
+                    break;
+                case TYPE:
+                    output.writeByte(TAG_TYPE);
+                    writeString(node.asType().name());
+                    break;
+                case LIST: {
+                    final List<ModelNode> elements = node.asList();
+                    output.writeByte(TAG_LIST);
+                    writeVarInt(output, elements.size());
+                    for (final ModelNode element : elements) {
+                        writeNode(element);
+                    }
+                    break;
+                }
+                case OBJECT:
+                    output.writeByte(TAG_OBJECT);
+                    writeVarInt(output, node.keys().size());
+                    for (final String key : node.keys()) {
+                        writeString(key);
+                        writeNode(node.get(key));
+                    }
+                    break;
+                case PROPERTY: {
+                    final Property property = node.asProperty();
+                    output.writeByte(TAG_PROPERTY);
+                    writeString(property.getName());
+                    writeNode(property.getValue());
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(type.name());
+            }
+        }
+
+        /**
+         * Strings already written in this message are referenced by their index plus one, new strings are written as
+         * {@code 0} followed by their UTF-8 length and bytes.
+         */
+        private void writeString(final String value) throws IOException {
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(output, index + 1);
+            } else {
+                strings.put(value, strings.size());
+                output.writeByte(0);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeBytes(final byte[] value) throws IOException {
+            writeVarInt(output, value.length);
+            output.write(value);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                output.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            output.writeByte((int) value);
+        }
+
+        void flush() throws IOException {
+            output.flush();
+        }
+
+        private static long zigZag(final long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] payload;
+        private final List<String> strings = new ArrayList<String>();
+        private int position;
+
+        Decoder(final byte[] payload) {
+            this.payload = payload;
+        }
+
+        void readNode(final ModelNode target) throws IOException {
+            final byte type = readByte();
+            switch (type) {
+                case TAG_UNDEFINED:
+                    break;
+                case TAG_TRUE:
+                    target.set(true);
+                    break;
+                case TAG_FALSE:
+                    target.set(false);
+                    break;
+                case TAG_INT:
+                    target.set((int) unZigZag(readVarLong()));
+                    break;
+                case TAG_LONG:
+                    target.set(unZigZag(readVarLong()));
+                    break;
+                case TAG_DOUBLE:
+                    target.set(Double.longBitsToDouble(readFixedLong()));
+                    break;
+                case TAG_BIG_INTEGER:
+                    target.set(new BigInteger(readBytes()));
+                    break;
+                case TAG_BIG_DECIMAL: {
+                    final int scale = (int) unZigZag(readVarLong());
+                    target.set(new BigDecimal(new BigInteger(readBytes()), scale));
+                    break;
+                }
+                case TAG_BYTES:
+                    target.set(readBytes());
+                    break;
+                case TAG_STRING:
+                    target.set(readString());
+                    break;
+                case TAG_EXPRESSION:
+                    target.set(new ValueExpression(readString()));
+                    break;
+                case TAG_TYPE:
+                    target.set(ModelType.valueOf(readString()));
+                    break;
+                case TAG_LIST: {
+                    final int size = readLength();
+                    target.setEmptyList();
+                    for (int i = 0; i < size; i++) {
+                        readNode(target.add());
+                    }
+                    break;
+                }
+                case TAG_OBJECT: {
+                    final int size = readLength();
+                    target.setEmptyObject();
+                    for (int i = 0; i < size; i++) {
+                        readNode(target.get(readString()));
+                    }
+                    break;
+                }
+                case TAG_PROPERTY: {
+                    final String name = readString();
+                    final ModelNode value = new ModelNode();
+                    readNode(value);
+                    target.set(name, value);
+                    break;
+                }
+                default:
+                    throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("unknown type 0x" + Integer.toHexString(type));
+            }
+        }
+
+        private String readString() throws IOException {
+            final int reference = readLength();
+            if (reference == 0) {
+                final String value = new String(readBytes(), StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            }
+            if (reference > strings.size()) {
+                throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("unknown string reference " + reference);
+            }
+            return strings.get(reference - 1);
+        }
+
+        private byte[] readBytes() throws IOException {
+            final int length = readLength();
+            ensureAvailable(length);
+            final byte[] value = new byte[length];
+            System.arraycopy(payload, position, value, 0, length);
+            position += length;
+            return value;
+        }
+
+        private int readLength() throws IOException {
+            final long length = readVarLong();
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("invalid length " + length);
+            }
+            return (int) length;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("malformed variable length integer");
+        }
+
+        private long readFixedLong() throws IOException {
+            ensureAvailable(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (payload[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private byte readByte() throws IOException {
+            ensureAvailable(1);
+            return payload[position++];
+        }
+
+        private void ensureAvailable(final int count) throws IOException {
+            if (count > payload.length - position) {
+                throw ControllerClientLogger.ROOT_LOGGER.invalidCompactModelNode("truncated payload");
+            }
+        }
+
+        private static long unZigZag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
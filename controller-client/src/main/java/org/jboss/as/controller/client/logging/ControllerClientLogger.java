@@ -376,6 +376,12 @@ public interface ControllerClientLogger extends BasicLogger {
     @Message(id = 36, value = "Stream was closed")
     IOException streamWasClosed();
 
+    @Message(id = 37, value = "Unknown model node encoding format 0x%s")
+    IOException unknownModelNodeFormat(String format);
+
+    @Message(id = 38, value = "Invalid compact model node encoding: %s")
+    IOException invalidCompactModelNode(String problem);
+
     class LeakDescription extends Throwable {
         private static final long serialVersionUID = -7193498784746897578L;
 
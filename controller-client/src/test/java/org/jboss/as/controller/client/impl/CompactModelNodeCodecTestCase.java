@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link CompactModelNodeCodec}.
+ */
+public class CompactModelNodeCodecTestCase {
+
+    private static final ManagementProtocolHeader COMPACT = new ManagementResponseHeader(ManagementProtocol.VERSION_COMPACT_DMR, 1, null);
+    private static final ManagementProtocolHeader LEGACY = new ManagementResponseHeader(ManagementProtocol.VERSION_COMPACT_DMR - 1, 1, null);
+
+    @Test
+    public void testAllTypes() throws IOException {
+        final ModelNode node = new ModelNode();
+        node.get("undefined");
+        node.get("true").set(true);
+        node.get("false").set(false);
+        node.get("int").set(Integer.MIN_VALUE);
+        node.get("negative-int").set(-1);
+        node.get("long").set(Long.MAX_VALUE);
+        node.get("double").set(Math.PI);
+        node.get("big-integer").set(new BigInteger("-123456789012345678901234567890"));
+        node.get("big-decimal").set(new BigDecimal("12345678901234567890.0987654321"));
+        node.get("bytes").set(new byte[] {0, 1, -1, Byte.MAX_VALUE, Byte.MIN_VALUE});
+        node.get("string").set("r\u00e9sum\u00e9 \u2603");
+        node.get("expression").set(new ValueExpression("${test.property:default}"));
+        node.get("type").set(ModelType.OBJECT);
+        node.get("list").add(1).add("string").add(new ModelNode());
+        node.get("property").set("name", new ModelNode("value"));
+        node.get("object", "nested", "string").set("string");
+
+        Assert.assertEquals(node, roundTrip(node, COMPACT));
+        Assert.assertEquals(node, roundTrip(node, LEGACY));
+    }
+
+    @Test
+    public void testLegacyPeerGetsStandardEncoding() throws IOException {
+        final ModelNode node = createResult(10);
+        final ByteArrayOutputStream standard = new ByteArrayOutputStream();
+        node.writeExternal(new DataOutputStream(standard));
+
+        Assert.assertArrayEquals(standard.toByteArray(), write(node, LEGACY));
+    }
+
+    @Test
+    public void testRepeatedKeysAreWrittenOnce() throws IOException {
+        final ModelNode node = createResult(100);
+        final byte[] compact = write(node, COMPACT);
+        Assert.assertEquals(CompactModelNodeCodec.FORMAT_COMPACT, compact[0]);
+        Assert.assertTrue(compact.length < write(node, LEGACY).length / 2);
+        Assert.assertEquals(node, roundTrip(node, COMPACT));
+    }
+
+    @Test
+    public void testLargePayloadIsDeflated() throws IOException {
+        final ModelNode node = createResult(5000);
+        final byte[] compact = write(node, COMPACT);
+        Assert.assertEquals(CompactModelNodeCodec.FORMAT_COMPACT_DEFLATED, compact[0]);
+        Assert.assertEquals(node, roundTrip(node, COMPACT));
+    }
+
+    @Test
+    public void testTruncatedPayloadFails() throws IOException {
+        final byte[] compact = write(createResult(10), COMPACT);
+        final byte[] truncated = Arrays.copyOf(compact, compact.length - 1);
+        try {
+            CompactModelNodeCodec.readModelNode(COMPACT, new DataInputStream(new ByteArrayInputStream(truncated)));
+            Assert.fail("Should have failed reading a truncated payload");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    private static ModelNode createResult(final int count) {
+        final ModelNode node = new ModelNode();
+        node.get("outcome").set("success");
+        final ModelNode result = node.get("result");
+        for (int i = 0; i < count; i++) {
+            final ModelNode element = result.get("element-" + i);
+            element.get("enabled").set(i % 2 == 0);
+            element.get("max-size").set(i);
+            element.get("description").set("element number " + (i % 10));
+        }
+        return node;
+    }
+
+    private static byte[] write(final ModelNode node, final ManagementProtocolHeader header) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        CompactModelNodeCodec.writeModelNode(node, header, output);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode roundTrip(final ModelNode node, final ManagementProtocolHeader header) throws IOException {
+        final byte[] bytes = write(node, header);
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        final ModelNode result = CompactModelNodeCodec.readModelNode(header, input);
+        Assert.assertEquals(-1, input.read());
+        return result;
+    }
+}
@@ -183,13 +183,17 @@ abstract class AbstractOperationContext implements OperationContext {
         this.notifications = new ConcurrentLinkedQueue<Notification>();
         this.controller = controller;
         steps = new EnumMap<Stage, Deque<Step>>(Stage.class);
-        for (Stage stage : Stage.values()) {
-            if (booting && stage == Stage.VERIFY) {
-                // Use a concurrent structure as the parallel boot threads will
-                // concurrently add steps
-                steps.put(stage, new LinkedBlockingDeque<Step>());
-            } else {
-                steps.put(stage, new ArrayDeque<Step>());
+        // Outside of boot only the controlling thread adds steps, so addStep creates the deques as needed.
+        // Most operations, e.g. a read-attribute, only ever use one or two stages
+        if (booting) {
+            for (Stage stage : Stage.values()) {
+                if (stage == Stage.VERIFY) {
+                    // Use a concurrent structure as the parallel boot threads will
+                    // concurrently add steps
+                    steps.put(stage, new LinkedBlockingDeque<Step>());
+                } else {
+                    steps.put(stage, new ArrayDeque<Step>());
+                }
             }
         }
         initiatingThread = Thread.currentThread();
@@ -286,7 +290,11 @@ abstract class AbstractOperationContext implements OperationContext {
             }
         }
 
-        final Deque<Step> deque = steps.get(stage);
+        Deque<Step> deque = steps.get(stage);
+        if (deque == null) {
+            deque = new ArrayDeque<Step>();
+            steps.put(stage, deque);
+        }
         if (addFirst) {
             deque.addFirst(new Step(step, response, operation, address));
         } else {
@@ -553,7 +561,8 @@ abstract class AbstractOperationContext implements OperationContext {
         ModelNode response = activeStep == null ? null : activeStep.response;
         Step step;
         do {
-            step = steps.get(currentStage).pollFirst();
+            final Deque<Step> deque = steps.get(currentStage);
+            step = deque == null ? null : deque.pollFirst();
             if (step == null) {
 
                 if (currentStage == Stage.MODEL && addModelValidationSteps()) {
@@ -1119,14 +1128,19 @@ abstract class AbstractOperationContext implements OperationContext {
 
     private boolean hasMoreSteps() {
         Stage stage = currentStage;
-        boolean more = !steps.get(stage).isEmpty();
+        boolean more = hasSteps(stage);
         while (!more && stage.hasNext()) {
             stage = stage.next();
-            more = !steps.get(stage).isEmpty();
+            more = hasSteps(stage);
         }
         return more;
     }
 
+    private boolean hasSteps(Stage stage) {
+        final Deque<Step> deque = steps.get(stage);
+        return deque != null && !deque.isEmpty();
+    }
+
     @Override
     public Caller getCaller() {
         // TODO Consider threading but in general no harm in multiple instances being created rather than adding synchronization.
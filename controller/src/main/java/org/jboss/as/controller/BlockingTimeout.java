@@ -23,6 +23,7 @@
 package org.jboss.as.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLOCKING_TIMEOUT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -34,12 +35,13 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  *
  * @author Brian Stansberry (c) 2014 Red Hat Inc.
  */
-class BlockingTimeout {
+public class BlockingTimeout {
 
     public static final String SYSTEM_PROPERTY = "jboss.as.management.blocking.timeout";
     private static final int DEFAULT_TIMEOUT = 300;  // seconds
     private static final String DEFAULT_TIMEOUT_STRING = Long.toString(DEFAULT_TIMEOUT);
     private static final int SHORT_TIMEOUT = 5000;
+    private static final int DOMAIN_TIMEOUT_ADDER = 5000;
     private static String sysPropValue;
     private static int defaultValue;
 
@@ -47,7 +49,13 @@ class BlockingTimeout {
     private final int shortTimeout;
     private volatile boolean timeoutDetected;
 
-    BlockingTimeout(final ModelNode headerValue) {
+    /**
+     * Creates a {@code BlockingTimeout} from the value of an operation's {@code blocking-timeout} header.
+     *
+     * @param headerValue the header value, in seconds, or {@code null} or undefined to use the default timeout
+     * @throws IllegalStateException if the header value is less than 1
+     */
+    public BlockingTimeout(final ModelNode headerValue) {
         Integer opHeaderValue;
         if (headerValue != null && headerValue.isDefined()) {
             opHeaderValue = headerValue.asInt();
@@ -83,14 +91,35 @@ class BlockingTimeout {
         return defaultValue;
     }
 
+    /**
+     * Creates a {@code BlockingTimeout} from the {@code blocking-timeout} header of the given operation.
+     *
+     * @param operation the operation
+     * @return the blocking timeout. Will not be {@code null}
+     */
+    public static BlockingTimeout forOperation(final ModelNode operation) {
+        return new BlockingTimeout(operation.hasDefined(OPERATION_HEADERS, BLOCKING_TIMEOUT)
+                ? operation.get(OPERATION_HEADERS, BLOCKING_TIMEOUT) : null);
+    }
+
     /**
      * Gets the maximum period, in ms, a blocking call should block.
      * @return the maximum period. Will be a value greater than zero.
      */
-    int getBlockingTimeout() {
+    public int getBlockingTimeout() {
         return timeoutDetected ? shortTimeout : blockingTimeout;
     }
 
+    /**
+     * Gets the maximum period, in ms, a domain controller should wait for a remote process that applies
+     * {@link #getBlockingTimeout() the blocking timeout} to its own execution of an operation. This allows
+     * the remote process to report its own timeout before the domain controller gives up on it.
+     * @return the maximum period. Will be a value greater than zero.
+     */
+    public int getDomainBlockingTimeout() {
+        return blockingTimeout + DOMAIN_TIMEOUT_ADDER;
+    }
+
     /**
      * Notifies this object that a timeout has occurred, allowing shorter timeouts values
      * to be returned from {@link #getBlockingTimeout()}
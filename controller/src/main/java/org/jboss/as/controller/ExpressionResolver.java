@@ -42,7 +42,8 @@ public interface ExpressionResolver {
      * ${VAULT::vault_block::attribute_name::sharedKey}
      *
      * @param node the ModelNode containing expressions.
-     * @return a copy of the node with expressions resolved
+     * @return a node with expressions resolved. If {@code node} contains no expressions this may be {@code node}
+     *         itself, so callers that modify the result must not assume it is a copy
      *
      * @throws OperationFailedException if there is a value of type {@link org.jboss.dmr.ModelType#EXPRESSION} in the node tree and
      *            there is no system property or environment variable that matches the expression, or if a security
@@ -22,6 +22,9 @@
 package org.jboss.as.controller;
 
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -40,6 +43,17 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /** Upper bound on the number of parsed expression strings kept in {@link #TEMPLATES} */
+    private static final int MAX_TEMPLATES = 2048;
+    /**
+     * Parsed form of expression strings, keyed by the string. Only the position of the expressions within the string
+     * is cached; the expressions themselves are resolved against system properties, the vault etc on every use.
+     */
+    private static final ConcurrentMap<String, ExpressionTemplate> TEMPLATES = new ConcurrentHashMap<String, ExpressionTemplate>();
+
+    private static final AtomicLong RESOLVED = new AtomicLong();
+    private static final AtomicLong SKIPPED = new AtomicLong();
+
     private final boolean lenient;
 
     /**
@@ -63,9 +77,66 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     @Override
     public final ModelNode resolveExpressions(final ModelNode node) throws OperationFailedException {
+        if (!hasExpression(node)) {
+            // Nothing to resolve, so there is no need to copy the node
+            SKIPPED.incrementAndGet();
+            return node;
+        }
+        RESOLVED.incrementAndGet();
         return resolveExpressionsRecursively(node);
     }
 
+    /**
+     * Gets the number of calls to {@link #resolveExpressions(ModelNode)} made against any {@code ExpressionResolverImpl}
+     * where the node contained an expression that needed resolution.
+     *
+     * @return the number of nodes resolved
+     */
+    public static long getResolvedCount() {
+        return RESOLVED.get();
+    }
+
+    /**
+     * Gets the number of calls to {@link #resolveExpressions(ModelNode)} made against any {@code ExpressionResolverImpl}
+     * where the node contained no expressions and was returned as is.
+     *
+     * @return the number of nodes returned without resolution
+     */
+    public static long getSkippedCount() {
+        return SKIPPED.get();
+    }
+
+    /**
+     * Gets whether the given node or any of its descendants is of type {@link ModelType#EXPRESSION}.
+     *
+     * @param node the node
+     * @return {@code true} if there is anything to resolve
+     */
+    private static boolean hasExpression(final ModelNode node) {
+        switch (node.getType()) {
+            case EXPRESSION:
+                return true;
+            case OBJECT:
+                for (String key : node.keys()) {
+                    if (hasExpression(node.get(key))) {
+                        return true;
+                    }
+                }
+                return false;
+            case LIST:
+                for (ModelNode element : node.asList()) {
+                    if (hasExpression(element)) {
+                        return true;
+                    }
+                }
+                return false;
+            case PROPERTY:
+                return hasExpression(node.asProperty().getValue());
+            default:
+                return false;
+        }
+    }
+
     /**
      * Examine the given model node, resolving any expressions found within, including within child nodes.
      *
@@ -166,6 +237,10 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
 
+        final ExpressionTemplate template = getTemplate(initialValue);
+        if (template != ExpressionTemplate.COMPLEX) {
+            return resolveTemplate(template, initialValue, lenient);
+        }
 
         final StringBuilder builder = new StringBuilder();
         final int len = initialValue.length();
@@ -310,6 +385,46 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return new ParseAndResolveResult(builder.toString(), modified, false);
     }
 
+    private static ExpressionTemplate getTemplate(final String expressionString) {
+        ExpressionTemplate template = TEMPLATES.get(expressionString);
+        if (template == null) {
+            template = ExpressionTemplate.parse(expressionString);
+            if (TEMPLATES.size() < MAX_TEMPLATES) {
+                TEMPLATES.putIfAbsent(expressionString, template);
+            }
+        }
+        return template;
+    }
+
+    /** Equivalent to {@link #parseAndResolve(String, boolean)} for a string that matches the given template */
+    private ParseAndResolveResult resolveTemplate(final ExpressionTemplate template, final String initialValue,
+                                                  final boolean lenient) throws OperationFailedException {
+        if (template.starts.length == 0) {
+            return new ParseAndResolveResult(initialValue, false, false);
+        }
+        final StringBuilder builder = new StringBuilder(initialValue.length());
+        int next = 0;
+        for (int n = 0; n < template.starts.length; n++) {
+            final String toResolve = initialValue.substring(template.starts[n], template.ends[n] + 1);
+            final String resolved = resolveExpressionString(toResolve);
+            if (toResolve.equals(resolved)) {
+                if (lenient) {
+                    return new ParseAndResolveResult(initialValue, false, false);
+                }
+                throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(initialValue);
+            }
+            if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
+                // Another pass is needed; as in createRecursiveResult, discard the earlier resolutions
+                final String result = initialValue.substring(0, template.starts[n]) + resolved + initialValue.substring(template.ends[n] + 1);
+                return new ParseAndResolveResult(result, true, true);
+            }
+            builder.append(initialValue, next, template.starts[n]).append(resolved);
+            next = template.ends[n] + 1;
+        }
+        builder.append(initialValue, next, initialValue.length());
+        return new ParseAndResolveResult(builder.toString(), true, false);
+    }
+
     private static Stack<OpenExpression> addToStack(Stack<OpenExpression> stack, int startIndex) {
         Stack<OpenExpression> result = stack == null ? new Stack<OpenExpression>() : stack;
         result.push(new OpenExpression(startIndex));
@@ -461,6 +576,63 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * The positions of the expressions in a string whose expressions are neither nested nor escaped, e.g.
+     * {@code ${jboss.bind.address:127.0.0.1}} or {@code http://${host}:${port}/}. Such strings can be resolved
+     * without running the full parser in {@link #parseAndResolve(String, boolean)}. Strings with any other use of
+     * {@code $} are {@link #COMPLEX} and are always parsed.
+     */
+    private static final class ExpressionTemplate {
+
+        private static final ExpressionTemplate COMPLEX = new ExpressionTemplate(null, null);
+
+        /** Index of the '$' that opens each expression */
+        private final int[] starts;
+        /** Index of the '}' that closes each expression */
+        private final int[] ends;
+
+        private ExpressionTemplate(int[] starts, int[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        private static ExpressionTemplate parse(final String value) {
+            final int len = value.length();
+            int count = 0;
+            for (int i = value.indexOf('$'); i >= 0; i = value.indexOf('$', i + 1)) {
+                count++;
+            }
+            final int[] starts = new int[count];
+            final int[] ends = new int[count];
+            int i = 0;
+            for (int n = 0; n < count; n++) {
+                final int start = value.indexOf('$', i);
+                if (start + 1 >= len || value.charAt(start + 1) != '{') {
+                    // Escaped or stray '$'
+                    return COMPLEX;
+                }
+                int end = -1;
+                for (int j = start + 2; j < len && end < 0; j++) {
+                    final char ch = value.charAt(j);
+                    if (ch == '}') {
+                        end = j;
+                    } else if (ch == '$' || ch == '{') {
+                        // Nested expression or brace
+                        return COMPLEX;
+                    }
+                }
+                if (end < 0) {
+                    // Incomplete expression; let the parser report it
+                    return COMPLEX;
+                }
+                starts[n] = start;
+                ends[n] = end;
+                i = end + 1;
+            }
+            return new ExpressionTemplate(starts, ends);
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
@@ -733,6 +733,9 @@ class ModelControllerImpl implements ModelController {
 
     ConfigurationPersister.PersistenceResource writeModel(final ManagementModelImpl model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
+        // All steps are complete so the model will no longer change; marking it published now lets us
+        // read it without taking copies of the resources still shared with the previously published model
+        Resource.Tools.markPublished(model.rootResource);
         final ModelNode newModel = Resource.Tools.readModel(model.rootResource);
         final ConfigurationPersister.PersistenceResource delegate = persister.store(newModel, affectedAddresses);
         return new ConfigurationPersister.PersistenceResource() {
@@ -1213,6 +1216,7 @@ class ModelControllerImpl implements ModelController {
         }
 
         private void publish() {
+            Resource.Tools.markPublished(rootResource);
             ModelControllerImpl.this.managementModel.set(this);
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
             published = true;
@@ -1224,6 +1228,15 @@ class ModelControllerImpl implements ModelController {
 
         private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new HashMap<>();
         private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirements = new HashMap<>();
+        /** Reverse of {@link #requirements}: the dependents that require each capability name */
+        private final Map<String, Set<CapabilityId>> dependentsByRequirement = new HashMap<>();
+        /**
+         * Dependents whose requirements must be checked by the next {@link #getMissingRequirements()}: those with
+         * newly registered requirements, those requiring a capability that was removed, and those with requirements
+         * that were missing the last time they were checked. The requirements of any other dependent are known to be
+         * satisfied, as registering a capability can never make a requirement unsatisfied.
+         */
+        private final Set<CapabilityId> dependentsToCheck = new HashSet<>();
         private final boolean forServer;
         private final Map<CapabilityContext, Set<CapabilityContext>> satisfiedByMap;
 
@@ -1294,6 +1307,13 @@ class ModelControllerImpl implements ModelController {
             RuntimeRequirementRegistration existing = dependents.get(requirement.getRequiredName());
             if (existing == null) {
                 dependents.put(requirement.getRequiredName(), requirement);
+                Set<CapabilityId> requiredBy = dependentsByRequirement.get(requirement.getRequiredName());
+                if (requiredBy == null) {
+                    requiredBy = new HashSet<>();
+                    dependentsByRequirement.put(requirement.getRequiredName(), requiredBy);
+                }
+                requiredBy.add(dependentId);
+                dependentsToCheck.add(dependentId);
             } else {
                 existing.addRegistrationPoint(requirement.getOldestRegistrationPoint());
             }
@@ -1321,6 +1341,10 @@ class ModelControllerImpl implements ModelController {
                     }
                     if (candidate.getRegistrationPointCount() == 0) {
                         removed = capabilities.remove(capabilityId);
+                        Set<CapabilityId> requiredBy = dependentsByRequirement.get(capabilityName);
+                        if (requiredBy != null) {
+                            dependentsToCheck.addAll(requiredBy);
+                        }
                     }
                 }
             }
@@ -1335,6 +1359,13 @@ class ModelControllerImpl implements ModelController {
                     rrr.removeRegistrationPoint(requirementRegistration.getOldestRegistrationPoint());
                     if (rrr.getRegistrationPointCount() == 0) {
                         dependents.remove(requirementRegistration.getRequiredName());
+                        Set<CapabilityId> requiredBy = dependentsByRequirement.get(requirementRegistration.getRequiredName());
+                        if (requiredBy != null) {
+                            requiredBy.remove(requirementRegistration.getDependentId());
+                            if (requiredBy.size() == 0) {
+                                dependentsByRequirement.remove(requirementRegistration.getRequiredName());
+                            }
+                        }
                     }
                     if (dependents.size() == 0) {
                         requirements.remove(requirementRegistration.getDependentId());
@@ -1376,6 +1407,10 @@ class ModelControllerImpl implements ModelController {
                 }
                 result.requirements.put(entry.getKey(), mapCopy);
             }
+            for (Map.Entry<String, Set<CapabilityId>> entry : this.dependentsByRequirement.entrySet()) {
+                result.dependentsByRequirement.put(entry.getKey(), new HashSet<>(entry.getValue()));
+            }
+            result.dependentsToCheck.addAll(this.dependentsToCheck);
             if (!forServer) {
                 result.satisfiedByMap.putAll(this.satisfiedByMap);
             }
@@ -1384,11 +1419,17 @@ class ModelControllerImpl implements ModelController {
 
         synchronized Map<CapabilityId, Set<RuntimeRequirementRegistration>> getMissingRequirements() {
             Map<CapabilityId, Set<RuntimeRequirementRegistration>> result = new HashMap<>();
-            for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
-                CapabilityContext dependentContext = entry.getKey().getContext();
-                for (RuntimeRequirementRegistration req : entry.getValue().values()) {
+            Set<CapabilityId> unsatisfied = new HashSet<>();
+            for (CapabilityId dependentId : dependentsToCheck) {
+                Map<String, RuntimeRequirementRegistration> dependentRequirements = requirements.get(dependentId);
+                if (dependentRequirements == null) {
+                    continue;
+                }
+                CapabilityContext dependentContext = dependentId.getContext();
+                for (RuntimeRequirementRegistration req : dependentRequirements.values()) {
                     CapabilityId satisfiesId = findSatisfactoryCapability(req.getRequiredName(), dependentContext);
                     if (satisfiesId == null) {
+                        unsatisfied.add(dependentId);
                         CapabilityId basicId = new CapabilityId(req.getRequiredName(), dependentContext);
                         Set<RuntimeRequirementRegistration> set = result.get(basicId);
                         if (set == null) {
@@ -1399,6 +1440,8 @@ class ModelControllerImpl implements ModelController {
                     }
                 }
             }
+            // Everything else is now known to be satisfied
+            dependentsToCheck.retainAll(unsatisfied);
             return result;
         }
 
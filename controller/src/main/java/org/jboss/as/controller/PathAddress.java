@@ -61,6 +61,18 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the update identifier
      */
     public static PathAddress pathAddress(final ModelNode node) {
+        if (node.isDefined() && PathInterner.ENABLED) {
+            PathAddress address = PathInterner.get(node);
+            if (address == null) {
+                address = parseAddress(node, true);
+                PathInterner.put(node, address);
+            }
+            return address;
+        }
+        return parseAddress(node, false);
+    }
+
+    private static PathAddress parseAddress(final ModelNode node, final boolean intern) {
         if (node.isDefined()) {
 
 //            final List<Property> props = node.asPropertyList();
@@ -92,7 +104,8 @@ public class PathAddress implements Iterable<PathElement> {
                 for (final Property prop : props) {
                     final String name = prop.getName();
                     if (seen.add(name)) {
-                        values.add(new PathElement(name, prop.getValue().asString()));
+                        final PathElement element = new PathElement(name, prop.getValue().asString());
+                        values.add(intern ? PathInterner.intern(element) : element);
                     } else {
                         throw duplicateElement(name);
                     }
@@ -214,6 +227,10 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     private final List<PathElement> pathAddressList;
+    /** Lazily computed; the list cannot change */
+    private int hashCode;
+    /** Lazily created by {@link #getParent()} */
+    private PathAddress parent;
 
     PathAddress(final List<PathElement> pathAddressList) {
         assert pathAddressList != null : ControllerLogger.ROOT_LOGGER.nullVar("pathAddressList").getLocalizedMessage();
@@ -404,12 +421,22 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     public PathAddress getParent() {
-        return subAddress(0, size() - 1);
+        PathAddress result = parent;
+        if (result == null) {
+            result = subAddress(0, size() - 1);
+            parent = result;
+        }
+        return result;
     }
 
     @Override
     public int hashCode() {
-        return pathAddressList.hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = pathAddressList.hashCode();
+            hashCode = result;
+        }
+        return result;
     }
 
     /**
@@ -430,7 +457,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(PathAddress other) {
-        return this == other || other != null && pathAddressList.equals(other.pathAddressList);
+        return this == other || other != null && hashCode() == other.hashCode() && pathAddressList.equals(other.pathAddressList);
     }
 
     @Override
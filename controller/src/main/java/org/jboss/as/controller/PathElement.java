@@ -106,7 +106,8 @@ public class PathElement {
             this.value = value;
         }
         this.multiTarget = multiTarget;
-        hashCode = key.hashCode() * 19 + value.hashCode();
+        // Use the stored value so elements that are equal have the same hash code
+        hashCode = key.hashCode() * 19 + this.value.hashCode();
     }
 
     /**
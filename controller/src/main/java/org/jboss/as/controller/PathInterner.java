@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Optional canonicalisation of {@link PathElement}s and of the {@link PathAddress}es built from
+ * {@link org.jboss.as.controller.descriptions.ModelDescriptionConstants#OP_ADDR operation address} nodes. With it
+ * equal addresses parsed from different requests are usually the same instance, so comparisons in registry lookups
+ * succeed on identity, and parsing an address seen before allocates no new elements.
+ * <p>
+ * Disabled unless the {@value #INTERN_PROPERTY} system property is {@code true}.
+ */
+final class PathInterner {
+
+    static final String INTERN_PROPERTY = "jboss.controller.intern-paths";
+
+    /** Upper bound on the number of address nodes remembered; the table is cleared when it is reached */
+    private static final int MAX_ADDRESSES = 4096;
+
+    static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(INTERN_PROPERTY, "false"));
+
+    /** Canonical instance of each element, held weakly so elements no longer in use can be collected */
+    private static final Map<PathElement, WeakReference<PathElement>> ELEMENTS = new WeakHashMap<PathElement, WeakReference<PathElement>>();
+
+    /**
+     * Parsed address keyed by a private copy of the address node it was parsed from. Only {@link ModelType#LIST list}
+     * nodes are stored: {@code equals} of {@link ModelType#OBJECT object} nodes ignores the order of their keys, which
+     * the parsed address depends on.
+     */
+    private static final ConcurrentMap<ModelNode, PathAddress> ADDRESSES = new ConcurrentHashMap<ModelNode, PathAddress>();
+
+    private PathInterner() {
+    }
+
+    /**
+     * Gets the canonical instance of the given element.
+     *
+     * @param element the element. Cannot be {@code null}
+     * @return an element equal to {@code element}; {@code element} itself if there was none yet
+     */
+    static PathElement intern(final PathElement element) {
+        synchronized (ELEMENTS) {
+            final WeakReference<PathElement> ref = ELEMENTS.get(element);
+            final PathElement existing = ref == null ? null : ref.get();
+            if (existing != null) {
+                return existing;
+            }
+            ELEMENTS.put(element, new WeakReference<PathElement>(element));
+            return element;
+        }
+    }
+
+    /**
+     * Gets the address previously {@link #put(ModelNode, PathAddress) stored} for a node equal to the given one.
+     *
+     * @param node an address node
+     * @return the address, or {@code null} if there is none or {@code node} is not a list
+     */
+    static PathAddress get(final ModelNode node) {
+        return node.getType() == ModelType.LIST ? ADDRESSES.get(node) : null;
+    }
+
+    /**
+     * Stores the address parsed from the given node.
+     *
+     * @param node the address node. A copy is stored, so later changes to it have no effect. Ignored unless it is a list
+     * @param address the address parsed from {@code node}
+     */
+    static void put(final ModelNode node, final PathAddress address) {
+        if (node.getType() != ModelType.LIST) {
+            return;
+        }
+        if (ADDRESSES.size() >= MAX_ADDRESSES) {
+            ADDRESSES.clear();
+        }
+        ADDRESSES.putIfAbsent(node.clone(), address);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.access.permission;
+
+import java.security.PermissionCollection;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.constraint.Constraint;
+
+/**
+ * Memoizes whether a caller's permissions imply a {@link SimpleManagementPermission required permission}.
+ * <p>
+ * Decisions are kept per user {@link PermissionCollection}. The {@link PermissionFactory} hands out one collection
+ * per role set and replaces them all when the roles are reconfigured, so a collection identifies both the caller's
+ * roles and the configuration they were built from. A required permission is identified by its action effect and the
+ * identity of its constraints. Constraint factories return shared constraint instances for the common cases, such as
+ * a sensitive or non-sensitive target, and compute them against the current configuration each time. A change to a
+ * sensitivity classification or other constraint configuration therefore leads to a different key rather than a
+ * stale decision. Constraints built for a particular target, such as a specific set of hosts, are seldom reused, so
+ * the number of decisions kept per collection is bounded.
+ */
+final class DecisionCache {
+
+    private static final int MAX_DECISIONS = 1024;
+
+    private final Map<PermissionCollection, Map<Key, Boolean>> decisions = new WeakHashMap<PermissionCollection, Map<Key, Boolean>>();
+
+    /**
+     * Checks whether {@code userPermissions} imply {@code required}, reusing an earlier decision if there is one.
+     *
+     * @param userPermissions the caller's permissions
+     * @param required the required permission
+     * @return {@code true} if the permission is implied
+     */
+    boolean implies(final PermissionCollection userPermissions, final SimpleManagementPermission required) {
+        Map<Key, Boolean> cached;
+        synchronized (decisions) {
+            cached = decisions.get(userPermissions);
+            if (cached == null) {
+                cached = new ConcurrentHashMap<Key, Boolean>();
+                decisions.put(userPermissions, cached);
+            }
+        }
+        final Key key = new Key(required.getActionEffect(), required.getConstraints());
+        Boolean implied = cached.get(key);
+        if (implied == null) {
+            implied = userPermissions.implies(required);
+            if (cached.size() >= MAX_DECISIONS) {
+                cached.clear();
+            }
+            cached.put(key, implied);
+        }
+        return implied;
+    }
+
+    /**
+     * Discards all decisions.
+     */
+    void clear() {
+        synchronized (decisions) {
+            decisions.clear();
+        }
+    }
+
+    private static final class Key {
+        private final Action.ActionEffect actionEffect;
+        private final Constraint[] constraints;
+        private final int hashCode;
+
+        private Key(final Action.ActionEffect actionEffect, final Constraint[] constraints) {
+            this.actionEffect = actionEffect;
+            this.constraints = constraints;
+            int hash = actionEffect.hashCode();
+            for (Constraint constraint : constraints) {
+                hash = 31 * hash + System.identityHashCode(constraint);
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            if (actionEffect != other.actionEffect || constraints.length != other.constraints.length) {
+                return false;
+            }
+            for (int i = 0; i < constraints.length; i++) {
+                if (constraints[i] != other.constraints[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
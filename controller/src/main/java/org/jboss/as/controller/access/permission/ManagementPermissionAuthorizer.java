@@ -57,6 +57,7 @@ public class ManagementPermissionAuthorizer implements Authorizer {
 
     private final PermissionFactory permissionFactory;
     private final JmxPermissionFactory jmxPermissionFactory;
+    private final DecisionCache decisionCache = new DecisionCache();
 
     public ManagementPermissionAuthorizer(PermissionFactory permissionFactory, JmxPermissionFactory jmxPermissionFactory) {
         this.permissionFactory = permissionFactory;
@@ -86,6 +87,9 @@ public class ManagementPermissionAuthorizer implements Authorizer {
             return AuthorizationResult.PERMITTED;
         }
         PermissionCollection userPerms = permissionFactory.getUserPermissions(caller, callEnvironment, action, target);
+        if (userPerms == AllPermissionsCollection.INSTANCE) {
+            return AuthorizationResult.PERMITTED;
+        }
         PermissionCollection requiredPerms = permissionFactory.getRequiredPermissions(action, target);
         return authorize(userPerms, requiredPerms);
     }
@@ -109,7 +113,10 @@ public class ManagementPermissionAuthorizer implements Authorizer {
         final Enumeration<Permission> enumeration = requiredPermissions.elements();
         while (enumeration.hasMoreElements()){
             Permission requiredPermission = enumeration.nextElement();
-            if (!userPermissions.implies(requiredPermission)) {
+            final boolean implied = requiredPermission instanceof SimpleManagementPermission
+                    ? decisionCache.implies(userPermissions, (SimpleManagementPermission) requiredPermission)
+                    : userPermissions.implies(requiredPermission);
+            if (!implied) {
                 return new AuthorizationResult(AuthorizationResult.Decision.DENY,
                             new ModelNode(ControllerLogger.ROOT_LOGGER.permissionDenied()));
             }
@@ -117,6 +124,15 @@ public class ManagementPermissionAuthorizer implements Authorizer {
         return AuthorizationResult.PERMITTED;
     }
 
+    /**
+     * Discards the memoized decisions about whether a caller's permissions imply the permissions required for
+     * an action. Subclasses call this when a change to their configuration may alter such decisions without the
+     * {@link PermissionFactory} handing out new permission collections.
+     */
+    protected void clearDecisionCache() {
+        decisionCache.clear();
+    }
+
     @Override
     public AuthorizationResult authorizeJmxOperation(Caller caller, Environment callEnvironment, JmxAction action) {
         Set<String> roles = jmxPermissionFactory.getUserRoles(caller, null, FAKE_JMX_ACTION, (TargetResource) null);
@@ -92,6 +92,17 @@ public final class StandardRBACAuthorizer extends ManagementPermissionAuthorizer
         this.configuration = configuration;
         this.permissionFactory = permissionFactory;
         configuration.registerScopedRoleListener(permissionFactory);
+        configuration.registerScopedRoleListener(new AuthorizerConfiguration.ScopedRoleListener() {
+            @Override
+            public void scopedRoleAdded(AuthorizerConfiguration.ScopedRole added) {
+                clearDecisionCache();
+            }
+
+            @Override
+            public void scopedRoleRemoved(AuthorizerConfiguration.ScopedRole removed) {
+                clearDecisionCache();
+            }
+        });
         this.roleMapper = roleMapper;
         for (StandardRole std : StandardRole.values()) {
             mappedToOfficialForm.put(std.toString(), std.getFormalName());
@@ -33,9 +33,21 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *  All methods on this class should be called with {@link org.jboss.as.controller.audit.ManagedAuditLoggerImpl}'s lock taken.
+ *  <p>
+ *  By default each record is written and synced to disk by the thread doing the logging. If {@link #setAsync(int, OverflowAction)}
+ *  has been called the records are instead handed to a queue drained by a dedicated writer thread, which keeps the file open
+ *  and writes the records in batches. In that case the writer thread is also the only one rotating the file.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  * @author <a href="mailto:istudens@redhat.com">Ivo Studensky</a>
@@ -46,8 +58,21 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
     private final String path;
     private final String relativeTo;
 
+    /** The maximum number of records the async writer writes before it syncs and checks for more */
+    private static final int MAX_BATCH_SIZE = 256;
+    /** Queued to tell the async writer to finish */
+    private static final byte[] STOP_WRITER = new byte[0];
+
     private volatile File file;
 
+    private volatile boolean async;
+    private volatile int queueLength = 1024;
+    private volatile OverflowAction overflowAction = OverflowAction.BLOCK;
+    private volatile long syncInterval;
+    private volatile long lastSync;
+    private final AtomicLong discardedCount = new AtomicLong();
+    private volatile AsyncWriter writer;
+
     public AbstractFileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager, String path, String relativeTo) {
         super(name, formatterName, maxFailureCount);
         this.pathManager = pathManager;
@@ -55,6 +80,38 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         this.relativeTo = relativeTo;
     }
 
+    /**
+     * Switch the handler to asynchronous mode. This should be called before the handler is first used.
+     *
+     * @param queueLength the maximum number of records waiting to be written
+     * @param overflowAction what to do with a record when the queue is full
+     */
+    public void setAsync(int queueLength, OverflowAction overflowAction) {
+        assert queueLength > 0;
+        this.async = true;
+        this.queueLength = queueLength;
+        this.overflowAction = overflowAction;
+    }
+
+    /**
+     * Set how often written records get synced to disk. This should be called before the handler is first used.
+     *
+     * @param syncInterval {@code 0} to sync after each write, a positive number to sync at most once in that many
+     *                     milliseconds, or a negative number to leave syncing to the operating system
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Get the number of records dropped because the queue of the asynchronous writer was full.
+     *
+     * @return the number of discarded records
+     */
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
     @Override
     void initialize() {
         if (file == null) {
@@ -79,33 +136,78 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
             }
 
             this.file = file;
+            if (async) {
+                final AsyncWriter writer = new AsyncWriter(file, queueLength);
+                writer.start();
+                this.writer = writer;
+            }
         }
 
-        rotateLogFile(file);
+        if (writer == null) {
+            rotateLogFile(file);
+        }
     }
 
     protected abstract void initializeAtStartup(final File file);
     protected abstract void rotateLogFile(final File file);
 
+    /**
+     * Whether {@link #rotateLogFile(File)} has anything to do. Used in asynchronous mode so that the writer only closes
+     * and reopens the file when it is really going to be rotated.
+     *
+     * @return {@code true} if the log file should be rotated before the next record is written
+     */
+    protected boolean isRotationRequired() {
+        return true;
+    }
+
+    /**
+     * Callback after a record has been written to the log file.
+     *
+     * @param length the number of bytes written, including the line terminator
+     */
+    protected void bytesWritten(int length) {
+    }
+
     @Override
     void stop() {
+        final AsyncWriter writer = this.writer;
+        this.writer = null;
         file = null;
+        if (writer != null) {
+            writer.stop();
+        }
     }
 
     @Override
     void writeLogItem(String formattedItem) throws IOException {
+        final byte[] bytes = formattedItem.getBytes();
+        final AsyncWriter writer = this.writer;
+        if (writer != null) {
+            writer.enqueue(bytes);
+            return;
+        }
         final FileOutputStream fos = new FileOutputStream(file, true);
         final BufferedOutputStream output = new BufferedOutputStream(fos);
         try {
-            output.write(formattedItem.getBytes());
+            output.write(bytes);
             output.write(LINE_TERMINATOR);
 
             //Flush and force the file to sync
             output.flush();
-            fos.getFD().sync();
+            if (isSyncRequired()) {
+                fos.getFD().sync();
+                lastSync = System.currentTimeMillis();
+            }
         } finally {
             IoUtils.safeClose(output);
         }
+        bytesWritten(bytes.length + LINE_TERMINATOR.length);
+    }
+
+    private boolean isSyncRequired() {
+        final long syncInterval = this.syncInterval;
+        return syncInterval == 0 || (syncInterval > 0 && System.currentTimeMillis() - lastSync >= syncInterval);
     }
 
     @Override
@@ -126,6 +228,12 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         if (!compare(relativeTo, otherHandler.relativeTo)){
             return true;
         }
+        if (async != otherHandler.async || syncInterval != otherHandler.syncInterval) {
+            return true;
+        }
+        if (async && (queueLength != otherHandler.queueLength || overflowAction != otherHandler.overflowAction)) {
+            return true;
+        }
         return false;
     }
 
@@ -168,4 +276,183 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
             file.delete();
         }
     }
+
+    /**
+     * What to do with a record if the queue of the asynchronous writer is full.
+     */
+    public enum OverflowAction {
+        /** Wait until the writer has made room for the record */
+        BLOCK,
+        /** Drop the record, counting it in {@link #getDiscardedCount()} */
+        DISCARD
+    }
+
+    /**
+     * Writes the queued records to the log file. The file channel stays open between batches, and is only closed
+     * to rotate the file and when the handler is stopped.
+     */
+    private final class AsyncWriter implements Runnable {
+        private final File file;
+        private final BlockingQueue<byte[]> queue;
+        private final Thread thread;
+        private volatile IOException failure;
+
+        private FileChannel channel;
+        private boolean unsynced;
+
+        AsyncWriter(File file, int queueLength) {
+            this.file = file;
+            this.queue = new ArrayBlockingQueue<byte[]>(queueLength);
+            this.thread = new Thread(this, "Management audit log writer " + name);
+            thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void enqueue(byte[] record) throws IOException {
+            if (overflowAction == OverflowAction.DISCARD) {
+                if (!queue.offer(record)) {
+                    discardedCount.incrementAndGet();
+                }
+            } else {
+                try {
+                    queue.put(record);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            // Report problems the writer had with earlier records to the caller, so they count towards the failures.
+            // This record has been queued regardless, so it is not lost.
+            final IOException failure = this.failure;
+            if (failure != null) {
+                this.failure = null;
+                throw failure;
+            }
+        }
+
+        void stop() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        queue.put(STOP_WRITER);
+                        thread.join();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            final List<byte[]> batch = new ArrayList<byte[]>(MAX_BATCH_SIZE);
+            boolean stopped = false;
+            try {
+                while (!stopped) {
+                    final byte[] first;
+                    try {
+                        first = unsynced && syncInterval > 0
+                                ? queue.poll(Math.max(1, lastSync + syncInterval - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+                                : queue.take();
+                    } catch (InterruptedException e) {
+                        // Nothing interrupts this thread on purpose; keep draining until told to stop
+                        continue;
+                    }
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    }
+                    try {
+                        stopped = writeBatch(batch);
+                        if (isSyncRequired()) {
+                            sync();
+                        }
+                    } catch (IOException e) {
+                        failure = e;
+                        closeChannel();
+                    } catch (RuntimeException e) {
+                        failure = new IOException(e);
+                        closeChannel();
+                    }
+                    batch.clear();
+                }
+            } finally {
+                closeChannel();
+            }
+        }
+
+        private boolean writeBatch(List<byte[]> batch) throws IOException {
+            final ByteBuffer[] buffers = new ByteBuffer[batch.size() * 2];
+            int count = 0;
+            boolean stopped = false;
+            for (byte[] record : batch) {
+                if (record == STOP_WRITER) {
+                    stopped = true;
+                    continue;
+                }
+                if (channel != null && isRotationRequired()) {
+                    write(buffers, count);
+                    count = 0;
+                    closeChannel();
+                }
+                if (channel == null) {
+                    if (isRotationRequired()) {
+                        rotateLogFile(file);
+                    }
+                    channel = new FileOutputStream(file, true).getChannel();
+                }
+                buffers[count++] = ByteBuffer.wrap(record);
+                buffers[count++] = ByteBuffer.wrap(LINE_TERMINATOR);
+                bytesWritten(record.length + LINE_TERMINATOR.length);
+            }
+            write(buffers, count);
+            return stopped;
+        }
+
+        private void write(ByteBuffer[] buffers, int count) throws IOException {
+            int offset = 0;
+            while (offset < count) {
+                channel.write(buffers, offset, count - offset);
+                while (offset < count && !buffers[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+            if (count > 0) {
+                unsynced = true;
+            }
+        }
+
+        private void sync() throws IOException {
+            if (unsynced && channel != null) {
+                channel.force(false);
+            }
+            unsynced = false;
+            lastSync = System.currentTimeMillis();
+        }
+
+        private void closeChannel() {
+            if (channel != null) {
+                if (unsynced && syncInterval >= 0) {
+                    try {
+                        channel.force(false);
+                    } catch (IOException e) {
+                        ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(e, name);
+                    }
+                    unsynced = false;
+                    lastSync = System.currentTimeMillis();
+                }
+                IoUtils.safeClose(channel);
+                channel = null;
+            }
+        }
+    }
 }
@@ -167,6 +167,11 @@ public interface AuditLogger {
             return false;
         }
 
+        @Override
+        public long getHandlerDiscardedCount(String name) {
+            return 0;
+        }
+
         @Override
         public void updateHandlerMaxFailureCount(String name, int count) {
         }
@@ -62,6 +62,11 @@ public class FileAuditLogHandler extends AbstractFileAuditLogHandler {
         // nothing to do here, we rotate only at startup, see initializeAtStartup method
     }
 
+    @Override
+    protected boolean isRotationRequired() {
+        return false;
+    }
+
     boolean isDifferent(AuditLogHandler other){
         if (other instanceof FileAuditLogHandler == false){
             return true;
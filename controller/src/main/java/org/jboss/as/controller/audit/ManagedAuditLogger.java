@@ -173,6 +173,14 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     boolean getHandlerDisabledDueToFailure(String name);
 
+    /**
+     * Get the number of records a file handler in asynchronous mode has discarded because its queue was full
+     *
+     * @param name the name of the handler
+     * @return the number of discarded records, or {@code 0} if the handler does not discard records
+     */
+    long getHandlerDiscardedCount(String name);
+
     /**
      * Gets a formatter by its name
      *
@@ -496,6 +496,17 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public long getHandlerDiscardedCount(String name) {
+        config.lock();
+        try {
+            AuditLogHandler handler = config.getConfiguredHandler(name);
+            return handler instanceof AbstractFileAuditLogHandler ? ((AbstractFileAuditLogHandler) handler).getDiscardedCount() : 0;
+        } finally {
+            config.unlock();
+        }
+    }
+
 
     @Override
     public JsonAuditLogItemFormatter getJsonFormatter(String name) {
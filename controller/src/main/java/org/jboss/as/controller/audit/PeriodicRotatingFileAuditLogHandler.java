@@ -68,6 +68,11 @@ public class PeriodicRotatingFileAuditLogHandler extends AbstractFileAuditLogHan
         }
     }
 
+    @Override
+    protected boolean isRotationRequired() {
+        return System.currentTimeMillis() >= nextRollover;
+    }
+
     /**
      * Set the suffix string.  The string is in a format which can be understood by {@link java.text.SimpleDateFormat}.
      * The period of the rotation is automatically calculated based on the suffix.
@@ -52,7 +52,7 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
 
     @Override
     protected void rotateLogFile(final File file) {
-        if (currentSize > this.rotateSize) {
+        if (isRotationRequired()) {
             // rotate
             if (maxBackupIndex > 0) {
                 // first, drop the max file (if any), then move each file to the next higher slot.
@@ -88,10 +88,13 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
     }
 
     @Override
-    void writeLogItem(String formattedItem) throws IOException {
-        super.writeLogItem(formattedItem);
-        currentSize += formattedItem.getBytes().length;
-        currentSize += LINE_TERMINATOR.length;
+    protected boolean isRotationRequired() {
+        return currentSize > this.rotateSize;
+    }
+
+    @Override
+    protected void bytesWritten(int length) {
+        currentSize += length;
     }
 
     @Override
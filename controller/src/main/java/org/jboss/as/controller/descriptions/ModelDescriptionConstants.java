@@ -59,6 +59,7 @@ public class ModelDescriptionConstants {
     public static final String APPLICATION_CLASSIFICATION = "application-classification";
     public static final String APPLIES_TO = "applies-to";
     public static final String ARCHIVE = "archive";
+    public static final String ASYNC = "async";
     public static final String ATTACHED_STREAMS = "attached-streams";
     public static final String ATTRIBUTE = "attribute";
     public static final String ATTRIBUTE_GROUP = "attribute-group";
@@ -127,6 +128,7 @@ public class ModelDescriptionConstants {
     public static final String DISABLED_TIME = "disabled-time";
     public static final String DISABLED_TIMESTAMP = "disabled-timestamp";
     public static final String DISABLED_DUE_TO_FAILURE = "disabled-due-to-failure";
+    public static final String DISCARDED_COUNT = "discarded-count";
     public static final String DISCOVERY_OPTION = "discovery-option";
     public static final String DISCOVERY_OPTIONS = "discovery-options";
     public static final String DOMAIN = "domain";
@@ -237,6 +239,8 @@ public class ModelDescriptionConstants {
     public static final String MASTER = "master";
     public static final String MAX = "max";
     public static final String MAX_BACKUP_INDEX = "max-backup-index";
+    public static final String MAX_CONCURRENT_SERVERS = "max-concurrent-servers";
+    public static final String MAX_CONCURRENT_SERVERS_PER_HOST = "max-concurrent-servers-per-host";
     public static final String MAX_FAILED_SERVERS = "max-failed-servers";
     public static final String MAX_FAILURE_COUNT = "max-failure-count";
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
@@ -280,6 +284,7 @@ public class ModelDescriptionConstants {
     public static final String OUTBOUND_CONNECTION = "outbound-connection";
     /** Use this standard operation address field in the operation *description* ModelNode */
     public static final String OUTCOME = "outcome";
+    public static final String OVERFLOW_ACTION = "overflow-action";
     public static final String OWNER = "owner";
     public static final String PASSWORD = "password";
     public static final String PATH = "path";
@@ -308,6 +313,7 @@ public class ModelDescriptionConstants {
     public static final String PROTOCOL = "protocol";
     public static final String PROVIDER = "provider";
     public static final String PROXIES = "proxies";
+    public static final String QUEUE_LENGTH = "queue-length";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
@@ -439,6 +445,7 @@ public class ModelDescriptionConstants {
     public static final String SUSPEND = "suspend";
     public static final String SUSPEND_SERVERS = "suspend-servers";
     public static final String SUSPEND_STATE = "suspend-state";
+    public static final String SYNC_INTERVAL = "sync-interval";
     public static final String SYSLOG_FORMAT = "syslog-format";
     public static final String SYSLOG_HANDLER = "syslog-handler";
     public static final String SYSTEM_PROPERTY = "system-property";
@@ -487,6 +494,7 @@ public class ModelDescriptionConstants {
     public static final String WILDCARD = "wildcard";
     public static final String WRITE = "write";
     public static final String WRITE_ATTRIBUTE_OPERATION = "write-attribute";
+    public static final String WRITE_ATTRIBUTES_OPERATION = "write-attributes";
     public static final String XML_NAMESPACES = "xml-namespaces";
 
     private ModelDescriptionConstants() {
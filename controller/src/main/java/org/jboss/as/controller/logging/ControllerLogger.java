@@ -3312,4 +3312,7 @@ public interface ControllerLogger extends BasicLogger {
     @Message(id = 393, value = "Could not resolve attribute expression: '%s'")
     OperationFailedException couldNotResolveExpression(String attributeExpression);
 
+    @Message(id = 394, value = "Cannot write attribute '%s' of resource %s: %s")
+    String invalidAttributeWrite(String attributeName, PathAddress address, String problem);
+
 }
@@ -22,15 +22,22 @@
 
 package org.jboss.as.controller.notification;
 
-import java.util.Arrays;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Provides implementation of the {@code NotificationSupport}.
@@ -41,6 +48,7 @@ import org.jboss.as.controller.registry.NotificationHandlerRegistration;
  * The {@code NonBlockingNotificationSupport} will fire the notifications in a separate thread (provided by its {@code
  *  executorService}.
  * Its {@code emit()} method will return immediately and will not block the code execution.
+ * Each handler has its own queue of notifications so that a slow handler does not delay the delivery to the others.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2014 Red Hat inc.
  */
@@ -67,48 +75,59 @@ class NotificationSupports {
 
     static class NonBlockingNotificationSupport implements  NotificationSupport {
 
-        private final NotificationHandlerRegistration registry;
-        private final ExecutorService executor;
-
         /**
-         * Use a concurrent queue to put the notifications in it when {@code emit()} is called.
-         * The queue will be drained in a separate thread and the notifications effectively delivered to the handlers.
-         *
-         * This ensures that the notifications will be delivered in the same order they were emitted.
+         * Name of the system property that, when {@code true}, lets an {@code attribute-value-written} notification
+         * that is still waiting for delivery to a handler be merged with a later one for the same attribute
+         * of the same resource.
          */
-        private final Queue<Notification> queue = new ConcurrentLinkedQueue<Notification>();
+        static final String COALESCE_PROPERTY = "jboss.notification.coalesce-attribute-writes";
+
+        private final NotificationHandlerRegistration registry;
+        private final ExecutorService executor;
+        private final boolean coalesce;
 
         /**
-         * use the lock's exclusive writeLock to ensure only one thread can drain the queue at a given time.
+         * Each handler has its own queue, drained by at most one task of the executor at a time. This ensures that
+         * each handler receives the notifications in the same order they were emitted, while a slow handler only
+         * delays its own notifications. Only accessed while holding this object's monitor.
          */
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<NotificationHandler, HandlerQueue> queues = new WeakHashMap<NotificationHandler, HandlerQueue>();
 
         public NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor) {
+            this(registry, executor, Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(COALESCE_PROPERTY, "false")));
+        }
+
+        NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor, boolean coalesce) {
             this.registry = registry;
             this.executor = executor;
+            this.coalesce = coalesce;
         }
 
         @Override
         public synchronized void emit(Notification... notifications) {
-            queue.addAll(Arrays.asList(notifications));
-
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    lock.writeLock().lock();
-                    try {
-                        while (true) {
-                            Notification notification = queue.poll();
-                            if (notification == null) {
-                                break;
+            for (Notification notification : notifications) {
+                try {
+                    // each notification may have a different subset of handlers depending on their filters
+                    for (NotificationHandler handler : registry.findMatchingNotificationHandlers(notification)) {
+                        HandlerQueue queue = queues.get(handler);
+                        if (queue == null) {
+                            queue = new HandlerQueue();
+                            queues.put(handler, queue);
+                        }
+                        if (queue.add(handler, notification, coalesce)) {
+                            try {
+                                executor.execute(queue);
+                            } catch (RuntimeException e) {
+                                // Nothing will drain what is queued; drop it so later notifications submit the queue again
+                                queue.clear();
+                                ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, e);
                             }
-                            fireNotifications(registry, notification);
                         }
-                    } finally {
-                        lock.writeLock().unlock();
                     }
+                } catch (Throwable t) {
+                    ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
                 }
-            });
+            }
         }
 
         @Override
@@ -117,6 +136,128 @@ class NotificationSupports {
         }
     }
 
+    /**
+     * The notifications waiting for delivery to a single handler.
+     */
+    private static class HandlerQueue implements Runnable {
+
+        private final Deque<PendingNotification> pending = new ArrayDeque<PendingNotification>();
+        /** The pending attribute-value-written notifications, for coalescing */
+        private final Map<AttributeKey, PendingNotification> pendingWrites = new HashMap<AttributeKey, PendingNotification>();
+        /** Whether a task to drain this queue has been submitted and has not yet found it empty */
+        private boolean draining;
+
+        /**
+         * Adds a notification to the queue.
+         *
+         * @return {@code true} if the caller must submit this queue to the executor to drain it
+         */
+        private synchronized boolean add(NotificationHandler handler, Notification notification, boolean coalesce) {
+            PendingNotification toAdd = new PendingNotification(handler, notification);
+            if (coalesce && toAdd.key != null) {
+                final PendingNotification previous = pendingWrites.get(toAdd.key);
+                if (previous != null) {
+                    // Replace the earlier write with one going from its old value to this one's new value,
+                    // delivered in this one's place so it is not seen before anything emitted in between
+                    previous.skip = true;
+                    toAdd = new PendingNotification(handler, merge(previous.notification, notification));
+                }
+                pendingWrites.put(toAdd.key, toAdd);
+            }
+            pending.add(toAdd);
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        /**
+         * Drops the queued notifications after the queue could not be submitted to the executor.
+         */
+        private synchronized void clear() {
+            pending.clear();
+            pendingWrites.clear();
+            draining = false;
+        }
+
+        private synchronized PendingNotification poll() {
+            final PendingNotification next = pending.poll();
+            if (next == null) {
+                draining = false;
+            } else if (pendingWrites.get(next.key) == next) {
+                pendingWrites.remove(next.key);
+            }
+            return next;
+        }
+
+        @Override
+        public void run() {
+            PendingNotification next;
+            while ((next = poll()) != null) {
+                if (next.skip) {
+                    continue;
+                }
+                try {
+                    next.handler.handleNotification(next.notification);
+                } catch (Throwable t) {
+                    ControllerLogger.ROOT_LOGGER.failedToEmitNotification(next.notification, t);
+                }
+            }
+        }
+
+        private static Notification merge(Notification earlier, Notification later) {
+            final ModelNode data = later.getData().clone();
+            data.get(GlobalNotifications.OLD_VALUE).set(earlier.getData().get(GlobalNotifications.OLD_VALUE));
+            final String attributeName = data.get(NAME).asString();
+            final ModelNode oldValue = data.get(GlobalNotifications.OLD_VALUE);
+            final ModelNode newValue = data.get(GlobalNotifications.NEW_VALUE);
+            return new Notification(later.getType(), later.getSource(),
+                    ControllerLogger.ROOT_LOGGER.attributeValueWritten(attributeName, oldValue, newValue), data);
+        }
+    }
+
+    private static class PendingNotification {
+        private final NotificationHandler handler;
+        private final Notification notification;
+        private final AttributeKey key;
+        /** Set if the notification was merged into a later one */
+        private boolean skip;
+
+        private PendingNotification(NotificationHandler handler, Notification notification) {
+            this.handler = handler;
+            this.notification = notification;
+            this.key = ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION.equals(notification.getType()) && notification.getData() != null
+                    ? new AttributeKey(notification) : null;
+        }
+    }
+
+    private static class AttributeKey {
+        private final PathAddress source;
+        private final String attributeName;
+
+        private AttributeKey(Notification notification) {
+            this.source = notification.getSource();
+            this.attributeName = notification.getData().get(NAME).asString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AttributeKey)) {
+                return false;
+            }
+            AttributeKey that = (AttributeKey) o;
+            return source.equals(that.source) && attributeName.equals(that.attributeName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + attributeName.hashCode();
+        }
+    }
 
     private static void fireNotifications(NotificationHandlerRegistration registry, final Notification... notifications) {
         for (Notification notification : notifications) {
@@ -123,6 +123,10 @@ public class GlobalOperationHandlers {
             root.registerOperationHandler(org.jboss.as.controller.operations.global.UndefineAttributeHandler.DEFINITION,
                                           org.jboss.as.controller.operations.global.UndefineAttributeHandler.INSTANCE, true);
         }
+        if (!processType.isManagedDomain()) {
+            // Domain operation routing does not know how to split write-attributes into server operations
+            root.registerOperationHandler(WriteAttributesHandler.DEFINITION, WriteAttributesHandler.INSTANCE, true);
+        }
     }
 
     public static final String CHECK_DEFAULT_RESOURCE_ACCESS = "check-default-resource-access";
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.operations.global.EnhancedSyntaxSupport.containsEnhancedSyntax;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.NAME;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.VALUE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link org.jboss.as.controller.OperationStepHandler} writing any number of attributes of the selected resource and
+ * its descendants in one operation. Each element of the required "attributes" request parameter has the "name" and
+ * "value" of the attribute and an optional "address", relative to the selected resource, of the resource to write.
+ * <p>
+ * All writes are checked against the resource registrations before any of them is executed. Each write is then
+ * executed by the {@code write-attribute} handler registered for its resource, as a step of this operation, so
+ * they share a single copy of the model, a single runtime stage and a single persistence of the configuration.
+ * <p>
+ * The operation is only available on processes outside a managed domain.
+ */
+public class WriteAttributesHandler implements OperationStepHandler {
+
+    private static final SimpleAttributeDefinition ADDRESS_FIELD = new SimpleAttributeDefinitionBuilder(ADDRESS, ModelType.LIST)
+            .setAllowNull(true)
+            .build();
+
+    private static final ObjectTypeAttributeDefinition ATTRIBUTE_FIELD = ObjectTypeAttributeDefinition.Builder.of(ATTRIBUTE, ADDRESS_FIELD, NAME, VALUE)
+            .build();
+
+    static final ObjectListAttributeDefinition ATTRIBUTES_PARAM = ObjectListAttributeDefinition.Builder.of(ATTRIBUTES, ATTRIBUTE_FIELD)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.WRITE_ATTRIBUTES_OPERATION, ControllerResolver.getResolver("global"))
+            .setParameters(ATTRIBUTES_PARAM)
+            .build();
+
+    public static final OperationStepHandler INSTANCE = new WriteAttributesHandler();
+
+    WriteAttributesHandler() {
+
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final PathAddress base = context.getCurrentAddress();
+        final ImmutableManagementResourceRegistration rootRegistration = context.getRootResourceRegistration();
+
+        // Check all the writes first, so nothing is executed if any of them cannot be
+        final List<ModelNode> writes = new ArrayList<ModelNode>();
+        final List<OperationStepHandler> handlers = new ArrayList<OperationStepHandler>();
+        for (ModelNode item : operation.require(ATTRIBUTES).asList()) {
+            final PathAddress address = item.hasDefined(ADDRESS) ? base.append(PathAddress.pathAddress(item.get(ADDRESS))) : base;
+            final String attributeName = item.require(NAME.getName()).asString();
+            final ModelNode value = item.get(VALUE.getName());
+
+            final ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(address);
+            if (registration == null) {
+                throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.noSuchResourceType(address));
+            }
+            final OperationStepHandler handler = registration.getOperationHandler(PathAddress.EMPTY_ADDRESS, WRITE_ATTRIBUTE_OPERATION);
+            if (handler == null) {
+                throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.noHandlerForOperation(WRITE_ATTRIBUTE_OPERATION, address));
+            }
+            if (!registration.isRemote() && !containsEnhancedSyntax(attributeName)) {
+                // Remote resources and enhanced syntax writes are checked by the handler
+                final AttributeAccess attributeAccess = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+                if (attributeAccess == null) {
+                    throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.invalidAttributeWrite(attributeName, address,
+                            ControllerLogger.ROOT_LOGGER.unknownAttribute(attributeName)));
+                } else if (attributeAccess.getAccessType() != AttributeAccess.AccessType.READ_WRITE) {
+                    throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.invalidAttributeWrite(attributeName, address,
+                            ControllerLogger.ROOT_LOGGER.attributeNotWritable(attributeName)));
+                }
+                final AttributeDefinition definition = attributeAccess.getAttributeDefinition();
+                if (definition != null) {
+                    final ModelNode toValidate = new ModelNode();
+                    toValidate.get(attributeName).set(value);
+                    try {
+                        definition.validateOperation(toValidate);
+                    } catch (OperationFailedException e) {
+                        throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.invalidAttributeWrite(attributeName, address,
+                                e.getFailureDescription().asString()));
+                    }
+                }
+            }
+
+            final ModelNode write = Util.getWriteAttributeOperation(address, attributeName, value);
+            writes.add(write);
+            handlers.add(handler);
+        }
+
+        // Add the writes in order, ahead of anything else already added
+        for (int i = writes.size() - 1; i >= 0; i--) {
+            context.addStep(writes.get(i), handlers.get(i), OperationContext.Stage.MODEL, true);
+        }
+    }
+}
@@ -47,6 +47,7 @@ public enum Attribute {
     APP_NAME("app-name"),
     APPLICATION("application"),
     ASSIGN_GROUPS("assign-groups"),
+    ASYNC("async"),
     ATTRIBUTE("attribute"),
     AUTO_START("auto-start"),
     BASE_DN("base-dn"),
@@ -122,6 +123,7 @@ public enum Attribute {
     MULTICAST_PORT("multicast-port"),
     NAME("name"),
     NATIVE("native"),
+    OVERFLOW_ACTION("overflow-action"),
     PASSWORD("password"),
     PATH("path"),
     PATTERN("pattern"),
@@ -136,6 +138,7 @@ public enum Attribute {
     PROFILE("profile"),
     PROTOCOL("protocol"),
     PROVIDER("provider"),
+    QUEUE_LENGTH("queue-length"),
     REALM("realm"),
     RECONNECT_TIMEOUT("reconnect-timeout"),
     RECURSIVE("recursive"),
@@ -169,6 +172,7 @@ public enum Attribute {
     SOURCE_NETWORK("source-network"),
     SOURCE_PORT("source-port"),
     SUFFIX("suffix"),
+    SYNC_INTERVAL("sync-interval"),
     SYSLOG_FORMAT ("syslog-format"),
     TRUNCATE("truncate"),
     TYPE("type"),
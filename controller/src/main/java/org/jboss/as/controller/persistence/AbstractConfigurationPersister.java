@@ -25,10 +25,12 @@ package org.jboss.as.controller.persistence;
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
@@ -45,6 +47,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final Map<String, XMLElementWriter<SubsystemMarshallingContext>> subsystemWriters = new HashMap<String, XMLElementWriter<SubsystemMarshallingContext>>();
+    private final SubsystemXmlCache subsystemXmlCache = new SubsystemXmlCache();
 
     /**
      * Construct a new instance.
@@ -72,6 +75,34 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     /** {@inheritDoc} */
     @Override
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
+        marshallAsXml(model, output, (SubsystemXmlCache.Update) null);
+    }
+
+    /**
+     * Marshals the model to be stored after a change, reusing the output of the subsystem writers for subsystems
+     * that were not affected by it.
+     *
+     * @param model the model to marshal
+     * @param output the stream to write to
+     * @param affectedAddresses the addresses of the resources affected by the change
+     * @return the update to {@link SubsystemXmlCache.Update#commit() commit} once the stored configuration is published
+     * @throws ConfigurationPersistenceException if marshalling fails
+     */
+    SubsystemXmlCache.Update marshallAsXml(final ModelNode model, final OutputStream output, final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        final SubsystemXmlCache.Update update = subsystemXmlCache.begin(affectedAddresses);
+        marshallAsXml(model, output, update);
+        return update;
+    }
+
+    /**
+     * Discards the cached output of the subsystem writers, when a configuration was stored without tracking which
+     * resources were affected.
+     */
+    void invalidateSubsystemXmlCache() {
+        subsystemXmlCache.invalidate();
+    }
+
+    private void marshallAsXml(final ModelNode model, final OutputStream output, final SubsystemXmlCache.Update update) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         try {
             XMLStreamWriter streamWriter = null;
@@ -86,9 +117,11 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
                     @Override
                     public XMLElementWriter<SubsystemMarshallingContext> getSubsystemWriter(String extensionName) {
+                        final XMLElementWriter<SubsystemMarshallingContext> writer;
                         synchronized (subsystemWriters) {
-                            return subsystemWriters.get(extensionName);
+                            writer = subsystemWriters.get(extensionName);
                         }
+                        return writer == null || update == null ? writer : update.wrap(extensionName, writer);
                     }
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
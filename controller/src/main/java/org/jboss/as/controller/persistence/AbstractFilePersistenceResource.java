@@ -22,7 +22,9 @@
 package org.jboss.as.controller.persistence;
 
 import java.io.BufferedOutputStream;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
@@ -33,13 +35,34 @@ import org.xnio.IoUtils;
  */
 public abstract class AbstractFilePersistenceResource implements ConfigurationPersister.PersistenceResource {
     private volatile ExposedByteArrayOutputStream marshalled;
+    private final AbstractConfigurationPersister persister;
+    private final SubsystemXmlCache.Update subsystemXmlUpdate;
 
     protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        this(model, persister, null);
+    }
+
+    /**
+     * Creates a resource that only runs the subsystem writers of the subsystems affected by the change being stored.
+     *
+     * @param model the model to store
+     * @param persister the persister
+     * @param affectedAddresses the addresses of the resources affected by the change, or {@code null} if unknown
+     * @throws ConfigurationPersistenceException if marshalling fails
+     */
+    protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister,
+                                              final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        this.persister = persister;
         marshalled = new ExposedByteArrayOutputStream(1024 * 8);
+        SubsystemXmlCache.Update update = null;
         try {
             try {
                 BufferedOutputStream output = new BufferedOutputStream(marshalled);
-                persister.marshallAsXml(model, output);
+                if (affectedAddresses == null) {
+                    persister.marshallAsXml(model, output);
+                } else {
+                    update = persister.marshallAsXml(model, output, affectedAddresses);
+                }
                 output.close();
                 marshalled.close();
             } finally {
@@ -48,6 +71,7 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
         } catch (Exception e) {
             throw ControllerLogger.ROOT_LOGGER.failedToMarshalConfiguration(e);
         }
+        subsystemXmlUpdate = update;
     }
 
     @Override
@@ -56,6 +80,11 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
             throw ControllerLogger.ROOT_LOGGER.rollbackAlreadyInvoked();
         }
         doCommit(marshalled);
+        if (subsystemXmlUpdate != null) {
+            subsystemXmlUpdate.commit();
+        } else {
+            persister.invalidateSubsystemXmlCache();
+        }
     }
 
     @Override
@@ -42,6 +42,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
 
     ConfigurationFile configurationFile;
     private final AtomicBoolean successfulBoot = new AtomicBoolean();
+    private final ConfigurationGroupCommit groupCommit = ConfigurationGroupCommit.create();
 
     /**
      * Construct a new instance.
@@ -106,14 +107,37 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
-        return new ConfigurationFilePersistenceResource(model, configurationFile, this);
+        return new ConfigurationFilePersistenceResource(model, configurationFile, this, affectedAddresses, groupCommit);
     }
 
     @Override
     public String snapshot() throws ConfigurationPersistenceException {
+        flush();
         return configurationFile.snapshot();
     }
 
+    /**
+     * Writes any committed changes whose write is being delayed to be grouped with later changes. Does nothing
+     * unless the {@code jboss.config.group-commit.window} system property enables group commit.
+     *
+     * @throws ConfigurationPersistenceException if the changes could not be written
+     */
+    public void flush() throws ConfigurationPersistenceException {
+        if (groupCommit != null) {
+            groupCommit.flush();
+        }
+    }
+
+    /**
+     * Gets the number of committed changes that have not been written to the configuration file yet, because
+     * their write is being delayed to be grouped with later changes.
+     *
+     * @return the number of pending changes
+     */
+    public int getPendingOperations() {
+        return groupCommit == null ? 0 : groupCommit.getPendingOperations();
+    }
+
     @Override
     public SnapshotInfo listSnapshots() {
         return configurationFile.listSnapshots();
@@ -25,7 +25,10 @@ package org.jboss.as.controller.persistence;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.io.File;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -34,28 +37,49 @@ import org.jboss.dmr.ModelNode;
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
-public class ConfigurationFilePersistenceResource extends AbstractFilePersistenceResource {
+public class ConfigurationFilePersistenceResource extends AbstractFilePersistenceResource implements ConfigurationGroupCommit.Writer {
 
     private final ConfigurationFile configurationFile;
+    private final ConfigurationGroupCommit groupCommit;
     protected final File fileName;
 
 
     ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
                                          final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
-        super(model, persister);
+        this(model, configurationFile, persister, null, null);
+    }
+
+    ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
+                                         final AbstractConfigurationPersister persister,
+                                         final Set<PathAddress> affectedAddresses,
+                                         final ConfigurationGroupCommit groupCommit) throws ConfigurationPersistenceException {
+        super(model, persister, affectedAddresses);
         this.configurationFile = configurationFile;
+        this.groupCommit = groupCommit;
         this.fileName = configurationFile.getMainFile();
     }
 
     @Override
     public void doCommit(ExposedByteArrayOutputStream marshalled) {
+        if (groupCommit != null) {
+            groupCommit.committed(this, marshalled);
+        } else {
+            try {
+                write(marshalled);
+            } catch (ConfigurationPersistenceException e) {
+                MGMT_OP_LOGGER.errorf(e, e.toString());
+            }
+        }
+    }
+
+    @Override
+    public void write(ExposedByteArrayOutputStream marshalled) throws ConfigurationPersistenceException {
         final File tempFileName = FilePersistenceUtils.createTempFile(fileName);
         try {
             try {
                 FilePersistenceUtils.writeToTempFile(marshalled, tempFileName);
             } catch (Exception e) {
-                MGMT_OP_LOGGER.failedToStoreConfiguration(e, fileName.getName());
-                return;
+                throw ControllerLogger.ROOT_LOGGER.failedToStoreConfiguration(e);
             }
             try {
                 configurationFile.backup();
@@ -63,8 +87,6 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
                 configurationFile.commitTempFile(tempFileName);
             }
             configurationFile.fileWritten();
-        } catch (ConfigurationPersistenceException e) {
-           MGMT_OP_LOGGER.errorf(e, e.toString());
         } finally {
             if (tempFileName.exists() && !tempFileName.delete()) {
                 MGMT_OP_LOGGER.cannotDeleteTempFile(tempFileName.getName());
@@ -0,0 +1,218 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Coalesces the configuration changes committed within a short window into a single write of the configuration
+ * file. Each commit supersedes the content of the previous ones, so only the most recent content is written.
+ * <p>
+ * The file in the configuration history is backed up as usual when the coalesced content is written, so the
+ * history still holds the last configuration that was actually stored.
+ * <p>
+ * If a write fails, its content stays pending, and is written with the next commit or {@link #flush() flush}, unless
+ * a later commit supersedes it. A failed write started by the window elapsing can only be logged, but
+ * {@link #flush()} reports the failure of the write it makes to its caller.
+ */
+final class ConfigurationGroupCommit {
+
+    /**
+     * System property setting the window, in ms, within which committed changes are written together. Group commit
+     * is disabled unless it is set to a positive value.
+     */
+    static final String WINDOW_PROPERTY = "jboss.config.group-commit.window";
+    /**
+     * System property setting the number of committed changes after which the pending content is written without
+     * waiting for the window to elapse. There is no limit unless it is set to a positive value.
+     */
+    static final String MAX_OPERATIONS_PROPERTY = "jboss.config.group-commit.max-operations";
+
+    private final long window;
+    private final int maxOperations;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Object writeLock = new Object();
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            final ConfigurationPersistenceException failure = write();
+            if (failure != null) {
+                MGMT_OP_LOGGER.errorf(failure, failure.toString());
+            }
+        }
+    };
+
+    private Writer pendingWriter;
+    private ExposedByteArrayOutputStream pendingContent;
+    /** Committed changes not yet handed to a write */
+    private int queued;
+    /** Committed changes not yet written, including those being written */
+    private int pending;
+    private ScheduledFuture<?> scheduledFlush;
+
+    ConfigurationGroupCommit(final long window, final int maxOperations) {
+        this.window = window;
+        this.maxOperations = maxOperations;
+        this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "Configuration group commit");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        // Don't keep a thread around for a persister discarded by a reload
+        executor.setKeepAliveTime(window + 1000, TimeUnit.MILLISECONDS);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a group commit configured from the {@link #WINDOW_PROPERTY} and {@link #MAX_OPERATIONS_PROPERTY} system
+     * properties.
+     *
+     * @return the group commit, or {@code null} if it is not enabled
+     */
+    static ConfigurationGroupCommit create() {
+        final long window = getLongProperty(WINDOW_PROPERTY);
+        return window > 0 ? new ConfigurationGroupCommit(window, (int) getLongProperty(MAX_OPERATIONS_PROPERTY)) : null;
+    }
+
+    /**
+     * Records a committed change, to be written with the other changes committed within the window.
+     *
+     * @param writer writes the content to the configuration file
+     * @param content the marshalled configuration
+     */
+    void committed(final Writer writer, final ExposedByteArrayOutputStream content) {
+        final boolean flushNow;
+        synchronized (this) {
+            pendingWriter = writer;
+            pendingContent = content;
+            queued++;
+            pending++;
+            flushNow = maxOperations > 0 && queued >= maxOperations;
+            if (!flushNow && scheduledFlush == null) {
+                scheduledFlush = executor.schedule(flushTask, window, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flushTask.run();
+        }
+    }
+
+    /**
+     * Writes the most recently committed content, if it has not been written yet.
+     *
+     * @throws ConfigurationPersistenceException if the content could not be written. It remains pending
+     */
+    void flush() throws ConfigurationPersistenceException {
+        final ConfigurationPersistenceException failure = write();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes the most recently committed content, if any.
+     *
+     * @return the failure of the write, or {@code null} if it succeeded or there was nothing to write
+     */
+    private ConfigurationPersistenceException write() {
+        synchronized (writeLock) {
+            final Writer writer;
+            final ExposedByteArrayOutputStream content;
+            final int written;
+            synchronized (this) {
+                writer = pendingWriter;
+                content = pendingContent;
+                written = queued;
+                pendingWriter = null;
+                pendingContent = null;
+                queued = 0;
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+            if (writer == null) {
+                return null;
+            }
+            try {
+                writer.write(content);
+            } catch (ConfigurationPersistenceException e) {
+                synchronized (this) {
+                    if (pendingWriter == null) {
+                        // Nothing committed since; keep the content for the next write
+                        pendingWriter = writer;
+                        pendingContent = content;
+                        queued += written;
+                    } else {
+                        // Superseded by a later commit
+                        pending -= written;
+                    }
+                }
+                return e;
+            }
+            synchronized (this) {
+                pending -= written;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Gets the number of committed changes that have not been written to the configuration file yet.
+     *
+     * @return the number of pending changes
+     */
+    synchronized int getPendingOperations() {
+        return pending;
+    }
+
+    /**
+     * Writes the marshalled configuration to the configuration file.
+     */
+    interface Writer {
+        void write(ExposedByteArrayOutputStream content) throws ConfigurationPersistenceException;
+    }
+
+    private static long getLongProperty(final String name) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // ignored, treated as unset
+            }
+        }
+        return 0;
+    }
+}
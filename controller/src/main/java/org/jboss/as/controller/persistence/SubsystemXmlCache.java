@@ -0,0 +1,249 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+
+/**
+ * Caches the output of the subsystem writers of a persister, so that a subsystem whose model was not affected by a
+ * change does not have to be marshalled again when the configuration is stored.
+ * <p>
+ * The output is kept as the sequence of calls the subsystem writer made on the {@link XMLExtendedStreamWriter} rather
+ * than as bytes, since indentation and namespace handling belong to the writer of the whole document. Replaying the
+ * calls skips the subsystem writer and its traversal of the model.
+ * <p>
+ * A subsystem can appear more than once in a document (once per profile in a domain configuration), so the cached
+ * output is kept per occurrence, in document order. Any change to a resource that is an ancestor of subsystems
+ * (the root, a host or a profile) therefore invalidates the whole cache.
+ */
+final class SubsystemXmlCache {
+
+    private Map<String, List<Fragment>> fragments = new HashMap<String, List<Fragment>>();
+
+    /**
+     * Begins marshalling a model.
+     *
+     * @param affectedAddresses the addresses of the resources changed since the last model whose marshalling was
+     *                          {@link Update#commit() committed}, or {@code null} if unknown
+     * @return the update holding the output recorded while marshalling
+     */
+    Update begin(final Set<PathAddress> affectedAddresses) {
+        final Map<String, List<Fragment>> current;
+        synchronized (this) {
+            current = fragments;
+        }
+        return new Update(current, affectedAddresses);
+    }
+
+    /**
+     * Discards all cached output, when the model was changed without the changes being tracked.
+     */
+    synchronized void invalidate() {
+        fragments = new HashMap<String, List<Fragment>>();
+    }
+
+    private synchronized void install(final Map<String, List<Fragment>> newFragments) {
+        fragments = newFragments;
+    }
+
+    /**
+     * The subsystem output of a single marshalling of the model.
+     */
+    final class Update {
+
+        private final Map<String, List<Fragment>> cached;
+        private final Map<String, List<Fragment>> recorded = new HashMap<String, List<Fragment>>();
+        private final Set<String> dirty = new HashSet<String>();
+        private boolean all;
+
+        private Update(final Map<String, List<Fragment>> cached, final Set<PathAddress> affectedAddresses) {
+            this.cached = cached;
+            if (affectedAddresses == null) {
+                all = true;
+                return;
+            }
+            for (PathAddress address : affectedAddresses) {
+                boolean subsystem = false;
+                for (PathElement element : address) {
+                    if (SUBSYSTEM.equals(element.getKey())) {
+                        dirty.add(element.getValue());
+                        subsystem = true;
+                        break;
+                    }
+                }
+                if (!subsystem && (address.size() == 0
+                        || (address.size() == 1 && (HOST.equals(address.getElement(0).getKey()) || PROFILE.equals(address.getElement(0).getKey()))))) {
+                    all = true;
+                }
+            }
+        }
+
+        /**
+         * Wraps a subsystem writer so its output is replayed from the cache if the subsystem was not affected, and
+         * recorded otherwise.
+         *
+         * @param name the name of the subsystem
+         * @param writer the subsystem writer
+         * @return the wrapped writer
+         */
+        XMLElementWriter<SubsystemMarshallingContext> wrap(final String name, final XMLElementWriter<SubsystemMarshallingContext> writer) {
+            return new XMLElementWriter<SubsystemMarshallingContext>() {
+                @Override
+                public void writeContent(final XMLExtendedStreamWriter streamWriter, final SubsystemMarshallingContext context) throws XMLStreamException {
+                    List<Fragment> written = recorded.get(name);
+                    if (written == null) {
+                        written = new ArrayList<Fragment>(1);
+                        recorded.put(name, written);
+                    }
+                    final String defaultNamespace = streamWriter.getNamespaceContext().getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+                    final Fragment fragment = getCached(name, written.size());
+                    if (fragment != null && fragment.writer == writer && equals(fragment.defaultNamespace, defaultNamespace)) {
+                        fragment.replay(streamWriter);
+                        written.add(fragment);
+                    } else {
+                        final Fragment recording = new Fragment(writer, defaultNamespace);
+                        final XMLExtendedStreamWriter recorder = recording.recorder(streamWriter);
+                        writer.writeContent(recorder, new SubsystemMarshallingContext(context.getModelNode(), recorder));
+                        written.add(recording);
+                    }
+                }
+            };
+        }
+
+        private Fragment getCached(final String name, final int occurrence) {
+            if (all || dirty.contains(name)) {
+                return null;
+            }
+            final List<Fragment> list = cached.get(name);
+            return list != null && list.size() > occurrence ? list.get(occurrence) : null;
+        }
+
+        /**
+         * Makes the output recorded by this update the cached output, once the marshalled model has been published.
+         */
+        void commit() {
+            install(recorded);
+        }
+
+        private boolean equals(final String a, final String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+
+    /**
+     * The recorded output of one invocation of a subsystem writer.
+     */
+    private static final class Fragment {
+
+        private final XMLElementWriter<SubsystemMarshallingContext> writer;
+        private final String defaultNamespace;
+        private final List<Method> methods = new ArrayList<Method>();
+        private final List<Object[]> arguments = new ArrayList<Object[]>();
+
+        private Fragment(final XMLElementWriter<SubsystemMarshallingContext> writer, final String defaultNamespace) {
+            this.writer = writer;
+            this.defaultNamespace = defaultNamespace;
+        }
+
+        /**
+         * Creates a writer that passes all calls on to {@code target}, recording those that write to it.
+         */
+        XMLExtendedStreamWriter recorder(final XMLExtendedStreamWriter target) {
+            return (XMLExtendedStreamWriter) Proxy.newProxyInstance(XMLExtendedStreamWriter.class.getClassLoader(),
+                    new Class<?>[] {XMLExtendedStreamWriter.class}, new InvocationHandler() {
+                        @Override
+                        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                            if (method.getDeclaringClass() == Object.class) {
+                                return method.invoke(target, args);
+                            }
+                            if (method.getReturnType() == void.class) {
+                                methods.add(method);
+                                arguments.add(copy(args));
+                            }
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    });
+        }
+
+        void replay(final XMLExtendedStreamWriter target) throws XMLStreamException {
+            for (int i = 0; i < methods.size(); i++) {
+                try {
+                    methods.get(i).invoke(target, arguments.get(i));
+                } catch (InvocationTargetException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof XMLStreamException) {
+                        throw (XMLStreamException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new XMLStreamException(cause);
+                } catch (IllegalAccessException e) {
+                    throw new XMLStreamException(e);
+                }
+            }
+        }
+
+        private static Object[] copy(final Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            // the caller may reuse the arrays passed to writeCharacters() and the like
+            final Object[] copy = args.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] instanceof char[]) {
+                    copy[i] = ((char[]) copy[i]).clone();
+                } else if (copy[i] instanceof Object[]) {
+                    copy[i] = ((Object[]) copy[i]).clone();
+                }
+            }
+            return copy;
+        }
+    }
+}
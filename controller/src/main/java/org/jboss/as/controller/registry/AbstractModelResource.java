@@ -23,6 +23,7 @@
 package org.jboss.as.controller.registry;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -45,13 +46,20 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
     /** The children. */
     private final Map<String, ResourceProvider> children = new LinkedHashMap<String, ResourceProvider>();
     private final boolean runtimeOnly;
+    /** The copy generation this resource belongs to, or {@code null} if it was not created as part of a copy. */
+    private volatile Generation generation;
 
     protected AbstractModelResource() {
         this(false);
     }
 
     protected AbstractModelResource(boolean runtimeOnly) {
+        this(runtimeOnly, null);
+    }
+
+    AbstractModelResource(boolean runtimeOnly, Generation generation) {
         this.runtimeOnly = runtimeOnly;
+        this.generation = generation;
     }
 
     @Override
@@ -208,11 +216,103 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Creates a copy of this resource that belongs to the given generation. Implementations that are able to
+     * share children with the copy should override this; the default simply {@link #clone() clones}.
+     *
+     * @param generation the generation the copy belongs to
+     * @param shareChildren {@code true} if this resource is known not to change anymore, in which case its
+     *                      children may be shared with the copy until they are accessed through it
+     * @return the copy
+     */
+    Resource copy(final Generation generation, final boolean shareChildren) {
+        return clone();
+    }
+
+    /**
+     * Copies the child providers of this resource into {@code copy}. Children of {@link DefaultResourceProvider}s
+     * that do not need to be copied eagerly are shared, and only copied once they are accessed through {@code copy}.
+     */
+    void copyProviders(final AbstractModelResource copy, final Generation generation, final boolean shareChildren) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                if (provider instanceof DefaultResourceProvider) {
+                    copy.registerResourceProvider(entry.getKey(), ((DefaultResourceProvider) provider).copy(generation, shareChildren));
+                } else {
+                    copy.registerResourceProvider(entry.getKey(), provider.clone());
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether this resource belongs to a published tree, i.e. one that will no longer be modified.
+     */
+    final boolean isPublished() {
+        final Generation current = generation;
+        return current != null && current.isPublished();
+    }
+
+    /**
+     * Marks the tree this resource is the root of as published.
+     */
+    final void publish() {
+        final Generation current = generation;
+        if (current == null) {
+            generation = Generation.PUBLISHED;
+        } else {
+            current.publish();
+        }
+    }
+
+    private static Resource copyChild(final Resource resource, final Generation generation, final boolean shareChildren) {
+        if (resource instanceof AbstractModelResource) {
+            return ((AbstractModelResource) resource).copy(generation, shareChildren);
+        }
+        return resource.clone();
+    }
+
+    /**
+     * The set of resources created by copying a resource tree, e.g. the copy of the current model an operation
+     * modifies. Resources of a generation may still share children with the tree they were copied from; those
+     * children are copied the first time they are accessed, so an update only copies the resources on the path
+     * to the resource it changes. Once the generation is published it is no longer modified and shared children
+     * are handed out as they are.
+     */
+    static final class Generation {
+
+        static final Generation PUBLISHED = new Generation();
+
+        static {
+            PUBLISHED.publish();
+        }
+
+        private volatile boolean published;
+
+        boolean isPublished() {
+            return published;
+        }
+
+        void publish() {
+            published = true;
+        }
+    }
+
     static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** The generation of the owning resource; only relevant if {@link #shared} is not {@code null}. */
+        private final Generation generation;
+        /** The names of the children still shared with the resource tree this provider was copied from. */
+        private Set<String> shared;
 
         protected DefaultResourceProvider() {
+            this(null);
+        }
+
+        private DefaultResourceProvider(final Generation generation) {
+            this.generation = generation;
         }
 
         @Override
@@ -232,7 +332,15 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource get(String name) {
             synchronized (children) {
-                return children.get(name);
+                final Resource resource = children.get(name);
+                if (resource != null && isShared(name) && !generation.isPublished()) {
+                    // First access through this generation; take our own copy before anyone can modify it
+                    final Resource copy = copyChild(resource, generation, true);
+                    children.put(name, copy);
+                    shared.remove(name);
+                    return copy;
+                }
+                return resource;
             }
         }
 
@@ -254,20 +362,55 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
-                return children.remove(name);
+                final Resource removed = children.remove(name);
+                if (removed != null && isShared(name)) {
+                    shared.remove(name);
+                    // Don't hand out a resource that still belongs to another tree
+                    return copyChild(removed, generation, true);
+                }
+                return removed;
             }
         }
 
         @Override
         public ResourceProvider clone() {
-            final DefaultResourceProvider provider = new DefaultResourceProvider();
+            return copy(new Generation(), false);
+        }
+
+        /**
+         * Creates a copy of this provider for a resource of the given generation.
+         *
+         * @param generation the generation of the resource the copy belongs to
+         * @param shareChildren {@code true} if all children can be shared because the owning resource will not
+         *                      change anymore
+         * @return the copy
+         */
+        DefaultResourceProvider copy(final Generation generation, final boolean shareChildren) {
+            final DefaultResourceProvider provider = new DefaultResourceProvider(generation);
             synchronized (children) {
                 for (final Map.Entry<String, Resource> entry : children.entrySet()) {
-                    provider.register(entry.getKey(), entry.getValue().clone());
+                    final String name = entry.getKey();
+                    final Resource resource = entry.getValue();
+                    if (shareChildren || isShared(name)) {
+                        // Unmodifiable, so it is enough to copy it once it gets accessed
+                        provider.children.put(name, resource);
+                        if (provider.shared == null) {
+                            provider.shared = new HashSet<String>();
+                        }
+                        provider.shared.add(name);
+                    } else {
+                        final boolean published = resource instanceof AbstractModelResource
+                                && ((AbstractModelResource) resource).isPublished();
+                        provider.children.put(name, copyChild(resource, generation, published));
+                    }
                 }
             }
             return provider;
         }
+
+        private boolean isShared(final String name) {
+            return shared != null && shared.contains(name);
+        }
     }
 
     abstract static class DelegateResource implements ResourceEntry {
@@ -32,6 +32,9 @@ import org.jboss.dmr.ModelNode;
  * <p>Concurrency note: if a thread needs to modify a BasicResource, it must use the clone() method to obtain its
  * own copy of the resource. That instance cannot be made visible to other threads until all writes are complete.</p>
  *
+ * <p>Copies share the children of a published resource tree until they are accessed through the copy, so updating
+ * a single resource of a copy of the model only copies the resources on the path to it.</p>
+ *
  * @author Emanuel Muckenhuber
  */
 class BasicResource extends AbstractModelResource implements Resource {
@@ -47,6 +50,10 @@ class BasicResource extends AbstractModelResource implements Resource {
         super(runtimeOnly);
     }
 
+    private BasicResource(boolean runtimeOnly, Generation generation) {
+        super(runtimeOnly, generation);
+    }
+
     @Override
     public ModelNode getModel() {
         return model;
@@ -61,10 +68,16 @@ class BasicResource extends AbstractModelResource implements Resource {
     public boolean isModelDefined() {
         return model.isDefined();
     }
+
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime());
+        return copy(new Generation(), isPublished());
+    }
+
+    @Override
+    Resource copy(final Generation generation, final boolean shareChildren) {
+        final BasicResource clone = new BasicResource(isRuntime(), generation);
         for (;;) {
             try {
                 clone.writeModel(model);
@@ -73,7 +86,7 @@ class BasicResource extends AbstractModelResource implements Resource {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
+        copyProviders(clone, generation, shareChildren);
         return clone;
     }
 
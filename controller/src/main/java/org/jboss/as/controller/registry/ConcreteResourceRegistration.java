@@ -30,6 +30,7 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -50,6 +51,7 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.AttributeAccess.AccessType;
 import org.jboss.as.controller.registry.AttributeAccess.Storage;
 import org.jboss.as.controller.registry.OperationEntry.EntryType;
+import org.jboss.dmr.ModelNode;
 
 @SuppressWarnings("deprecation")
 final class ConcreteResourceRegistration extends AbstractResourceRegistration {
@@ -71,6 +73,12 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
 
     private final AtomicBoolean runtimeOnly = new AtomicBoolean();
     private final AccessConstraintUtilizationRegistry constraintUtilizationRegistry;
+    private final DescriptionCache descriptionCache = new DescriptionCache();
+    private final DescriptionProvider resourceDescriptionProvider;
+
+    private static final String RESOURCE_DESCRIPTION_KEY = "resource";
+    private static final String OPERATION_DESCRIPTION_KEY = "operation=";
+    private static final String NOTIFICATION_DESCRIPTION_KEY = "notification=";
 
     private static final AtomicMapFieldUpdater<ConcreteResourceRegistration, String, NodeSubregistry> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ConcreteResourceRegistration.class, Map.class, "children"));
     private static final AtomicMapFieldUpdater<ConcreteResourceRegistration, String, OperationEntry> operationsUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ConcreteResourceRegistration.class, Map.class, "operations"));
@@ -88,6 +96,12 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         this.resourceDefinition = definition;
         this.runtimeOnly.set(runtimeOnly);
         this.accessConstraintDefinitions = buildAccessConstraints();
+        this.resourceDescriptionProvider = descriptionCache.cachingProvider(RESOURCE_DESCRIPTION_KEY, new DescriptionProvider() {
+            @Override
+            public ModelNode getModelDescription(Locale locale) {
+                return resourceDefinition.getDescriptionProvider(ConcreteResourceRegistration.this).getModelDescription(locale);
+            }
+        });
     }
 
     @Override
@@ -100,6 +114,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     public void setRuntimeOnly(final boolean runtimeOnly) {
         checkPermission();
         this.runtimeOnly.set(runtimeOnly);
+        descriptionCache.clear();
     }
 
     @Override
@@ -149,6 +164,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         final String key = address.getKey();
         final NodeSubregistry child = getOrCreateSubregistry(key);
         final ManagementResourceRegistration resourceRegistration = child.register(address.getValue(), resourceDefinition, false);
+        descriptionCache.clear();
         resourceDefinition.registerAttributes(resourceRegistration);
         resourceDefinition.registerOperations(resourceRegistration);
         resourceDefinition.registerNotifications(resourceRegistration);
@@ -166,10 +182,11 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     @Override
     public void registerOperationHandler(OperationDefinition definition, OperationStepHandler handler, boolean inherited) {
         checkPermission();
-        if (operationsUpdater.putIfAbsent(this, definition.getName(), new OperationEntry(handler, definition.getDescriptionProvider(), inherited, definition.getEntryType(),
+        if (operationsUpdater.putIfAbsent(this, definition.getName(), new OperationEntry(handler, cachingOperationDescriptionProvider(definition.getName(), definition.getDescriptionProvider()), inherited, definition.getEntryType(),
                 definition.getFlags(), definition.getAccessConstraints())) != null) {
             throw alreadyRegistered("operation handler", definition.getName());
         }
+        descriptionCache.clear();
         registerOperationAccessConstraints(definition);
     }
 
@@ -179,6 +196,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         if (subregistry != null) {
             subregistry.unregisterSubModel(address.getValue());
         }
+        descriptionCache.clear();
         unregisterAccessConstraints(address);
     }
 
@@ -247,17 +265,19 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     @Override
     public void registerOperationHandler(final String operationName, final OperationStepHandler handler, final DescriptionProvider descriptionProvider, final boolean inherited, EntryType entryType) {
         checkPermission();
-        if (operationsUpdater.putIfAbsent(this, operationName, new OperationEntry(handler, descriptionProvider, inherited, entryType)) != null) {
+        if (operationsUpdater.putIfAbsent(this, operationName, new OperationEntry(handler, cachingOperationDescriptionProvider(operationName, descriptionProvider), inherited, entryType)) != null) {
             throw alreadyRegistered("operation handler", operationName);
         }
+        descriptionCache.clear();
     }
 
     @Override
     public void registerOperationHandler(final String operationName, final OperationStepHandler handler, final DescriptionProvider descriptionProvider, final boolean inherited, EntryType entryType, EnumSet<OperationEntry.Flag> flags) {
         checkPermission();
-        if (operationsUpdater.putIfAbsent(this, operationName, new OperationEntry(handler, descriptionProvider, inherited, entryType, flags, null)) != null) {
+        if (operationsUpdater.putIfAbsent(this, operationName, new OperationEntry(handler, cachingOperationDescriptionProvider(operationName, descriptionProvider), inherited, entryType, flags, null)) != null) {
             throw alreadyRegistered("operation handler", operationName);
         }
+        descriptionCache.clear();
     }
 
     @Override
@@ -266,6 +286,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         if (operationsUpdater.remove(this, operationName) == null) {
             throw operationNotRegisteredException(operationName, resourceDefinition.getPathElement());
         }
+        descriptionCache.clear();
     }
 
     @Override
@@ -279,6 +300,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             throw alreadyRegistered("attribute", attributeName);
         }
         registerAttributeAccessConstraints(definition);
+        descriptionCache.clear();
     }
 
     @Override
@@ -292,21 +314,24 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             throw alreadyRegistered("attribute", attributeName);
         }
         registerAttributeAccessConstraints(definition);
+        descriptionCache.clear();
     }
 
     @Override
     public void unregisterAttribute(String attributeName) {
         checkPermission();
         attributesUpdater.remove(this, attributeName);
+        descriptionCache.clear();
     }
 
     @Override
     public void registerNotification(NotificationDefinition notification, boolean inherited) {
-        NotificationEntry entry = new NotificationEntry(notification.getDescriptionProvider(), inherited);
+        NotificationEntry entry = new NotificationEntry(descriptionCache.cachingProvider(NOTIFICATION_DESCRIPTION_KEY + notification.getType(), notification.getDescriptionProvider()), inherited);
         checkPermission();
         if (notificationsUpdater.putIfAbsent(this, notification.getType(), entry) != null) {
             throw alreadyRegistered(NOTIFICATION, notification.getType());
         }
+        descriptionCache.clear();
     }
 
     @Override
@@ -318,6 +343,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
          public void unregisterNotification(String notificationType) {
         checkPermission();
         notificationsUpdater.remove(this, notificationType);
+        descriptionCache.clear();
     }
 
 
@@ -329,6 +355,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             throw alreadyRegistered("attribute", definition.getName());
         }
         registerAttributeAccessConstraints(definition);
+        descriptionCache.clear();
     }
 
     private void registerAttributeAccessConstraints(AttributeDefinition ad) {
@@ -395,6 +422,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(existing.getPathAddress().toCLIStyleString());
         }
         getOrCreateSubregistry(address.getKey()).registerProxyController(address.getValue(), controller);
+        descriptionCache.clear();
     }
 
     @Override
@@ -404,11 +432,13 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         if (subregistry != null) {
             subregistry.unregisterProxyController(address.getValue());
         }
+        descriptionCache.clear();
     }
 
     @Override
     public void registerAlias(PathElement address, AliasEntry alias, AbstractResourceRegistration target) {
         getOrCreateSubregistry(address.getKey()).registerAlias(address.getValue(), alias, target);
+        descriptionCache.clear();
     }
 
     @Override
@@ -418,6 +448,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         if (subregistry != null) {
             subregistry.unregisterAlias(address.getValue());
         }
+        descriptionCache.clear();
     }
 
     NodeSubregistry getOrCreateSubregistry(final String key) {
@@ -452,10 +483,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             return subregistry.getModelDescription(iterator, next.getValue());
         } else {
             checkPermission();
-            return resourceDefinition.getDescriptionProvider(this);
+            return resourceDescriptionProvider;
         }
     }
 
+    private DescriptionProvider cachingOperationDescriptionProvider(final String operationName, final DescriptionProvider descriptionProvider) {
+        return descriptionProvider == null ? null : descriptionCache.cachingProvider(OPERATION_DESCRIPTION_KEY + operationName, descriptionProvider);
+    }
+
     @Override
     Set<String> getAttributeNames(final ListIterator<PathElement> iterator) {
         if (iterator.hasNext()) {
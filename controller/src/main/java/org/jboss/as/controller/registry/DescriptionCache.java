@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Cache of the descriptions built for a single {@link ConcreteResourceRegistration}, so that building a description,
+ * with its resource bundle lookups, is done once per {@link Locale} rather than on every request.
+ * <p>
+ * A description may reflect anything registered on its node (attributes, operations, child types and the like), so
+ * the owning registration {@link #clear() clears} the cache whenever it changes. Callers get a copy of the cached
+ * description, which they can modify as the {@link DescriptionProvider} contract allows, for example to filter it for
+ * access control.
+ *
+ * @see ConcreteResourceRegistration
+ */
+final class DescriptionCache {
+
+    private final Map<String, Map<Locale, ModelNode>> descriptions = new HashMap<String, Map<Locale, ModelNode>>();
+    /** Incremented on each {@link #clear()}, so a description built before a change is not cached after it */
+    private long generation;
+
+    /**
+     * Gets a provider that builds its description from the given provider the first time it is asked for it in a
+     * given locale, and from this cache afterwards.
+     *
+     * @param key identifies the description within the owning registration
+     * @param delegate the provider that builds the description
+     * @return the caching provider
+     */
+    DescriptionProvider cachingProvider(final String key, final DescriptionProvider delegate) {
+        return new DescriptionProvider() {
+            @Override
+            public ModelNode getModelDescription(final Locale locale) {
+                return DescriptionCache.this.getModelDescription(key, delegate, locale);
+            }
+        };
+    }
+
+    /**
+     * Gets the description built by the given provider, from the cache if it was already built since the last
+     * {@link #clear()}.
+     *
+     * @param key identifies the description within the owning registration
+     * @param provider the provider that builds the description on a cache miss
+     * @param locale the locale to use, may be {@code null}
+     * @return a description the caller may modify
+     */
+    ModelNode getModelDescription(final String key, final DescriptionProvider provider, final Locale locale) {
+        final long built;
+        synchronized (descriptions) {
+            final Map<Locale, ModelNode> byLocale = descriptions.get(key);
+            final ModelNode cached = byLocale == null ? null : byLocale.get(locale);
+            if (cached != null) {
+                return cached.clone();
+            }
+            built = generation;
+        }
+        final ModelNode description = provider.getModelDescription(locale);
+        synchronized (descriptions) {
+            if (built != generation) {
+                return description;
+            }
+            Map<Locale, ModelNode> byLocale = descriptions.get(key);
+            if (byLocale == null) {
+                byLocale = new HashMap<Locale, ModelNode>();
+                descriptions.put(key, byLocale);
+            }
+            byLocale.put(locale, description.clone());
+        }
+        return description;
+    }
+
+    /**
+     * Discards all cached descriptions. Called when the owning registration changes.
+     */
+    void clear() {
+        synchronized (descriptions) {
+            descriptions.clear();
+            generation++;
+        }
+    }
+}
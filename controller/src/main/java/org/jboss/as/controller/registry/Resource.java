@@ -266,6 +266,23 @@ public interface Resource extends Cloneable {
             return model;
         }
 
+        /**
+         * Marks the resource tree rooted at {@code resource} as published, i.e. visible to other threads and no
+         * longer modified. {@link Resource#clone() Clones} of a published tree share its resources until they
+         * are accessed through the clone, so the cost of copying the model for an update is proportional to the
+         * part of the model the update touches rather than to the size of the model.
+         * <p>
+         * This is intended for use by the management kernel when it publishes a new version of the model.
+         * </p>
+         *
+         * @param resource the root resource of the tree. Cannot be {@code null}
+         */
+        public static void markPublished(final Resource resource) {
+            if (resource instanceof AbstractModelResource) {
+                ((AbstractModelResource) resource).publish();
+            }
+        }
+
         /**
          * Navigate from a parent {@code resource} to the descendant resource at the given relative {@code addresss}.
          * <p>
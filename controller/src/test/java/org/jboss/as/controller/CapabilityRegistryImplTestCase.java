@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.capability.registry.CapabilityContext;
+import org.jboss.as.controller.capability.registry.CapabilityId;
+import org.jboss.as.controller.capability.registry.RegistrationPoint;
+import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistration;
+import org.jboss.as.controller.capability.registry.RuntimeRequirementRegistration;
+import org.junit.Test;
+
+/**
+ * Tests of the incremental requirement validation in {@link ModelControllerImpl.CapabilityRegistryImpl}.
+ */
+public class CapabilityRegistryImplTestCase {
+
+    private static final PathAddress A = PathAddress.pathAddress("subsystem", "a");
+    private static final PathAddress B = PathAddress.pathAddress("subsystem", "b");
+
+    @Test
+    public void testMissingRequirement() {
+        ModelControllerImpl.CapabilityRegistryImpl registry = new ModelControllerImpl.CapabilityRegistryImpl(true);
+        register(registry, new RuntimeCapability<Void>("a", null, "b"), A);
+        assertMissing(registry.getMissingRequirements(), "b");
+
+        // Still reported until it is satisfied
+        assertMissing(registry.getMissingRequirements(), "b");
+        register(registry, new RuntimeCapability<Void>("b", null), B);
+        assertTrue(registry.getMissingRequirements().isEmpty());
+    }
+
+    @Test
+    public void testRemovedCapabilityInCopy() {
+        ModelControllerImpl.CapabilityRegistryImpl registry = new ModelControllerImpl.CapabilityRegistryImpl(true);
+        register(registry, new RuntimeCapability<Void>("b", null), B);
+        register(registry, new RuntimeCapability<Void>("a", null, "b"), A);
+        assertTrue(registry.getMissingRequirements().isEmpty());
+
+        ModelControllerImpl.CapabilityRegistryImpl copy = registry.copy();
+        assertTrue(copy.getMissingRequirements().isEmpty());
+        copy.removeCapability("b", CapabilityContext.GLOBAL, B);
+        assertMissing(copy.getMissingRequirements(), "b");
+        assertTrue(registry.getMissingRequirements().isEmpty());
+
+        // Removing the dependent leaves nothing to validate
+        copy.removeCapability("a", CapabilityContext.GLOBAL, A);
+        assertTrue(copy.getMissingRequirements().isEmpty());
+    }
+
+    @Test
+    public void testAdditionalRequirement() {
+        ModelControllerImpl.CapabilityRegistryImpl registry = new ModelControllerImpl.CapabilityRegistryImpl(true);
+        register(registry, new RuntimeCapability<Void>("a", null), A);
+        assertTrue(registry.getMissingRequirements().isEmpty());
+
+        ModelControllerImpl.CapabilityRegistryImpl copy = registry.copy();
+        copy.registerAdditionalCapabilityRequirement(new RuntimeRequirementRegistration("c", "a", CapabilityContext.GLOBAL,
+                new RegistrationPoint(A, "attr")));
+        assertMissing(copy.getMissingRequirements(), "c");
+    }
+
+    private static void register(ModelControllerImpl.CapabilityRegistryImpl registry, RuntimeCapability<Void> capability,
+                                 PathAddress address) {
+        registry.registerCapability(new RuntimeCapabilityRegistration(capability, CapabilityContext.GLOBAL,
+                new RegistrationPoint(address, null)));
+    }
+
+    private static void assertMissing(Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing, String name) {
+        assertEquals(missing.toString(), 1, missing.size());
+        assertEquals(name, missing.keySet().iterator().next().getName());
+    }
+}
@@ -22,6 +22,7 @@
 package org.jboss.as.controller;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -415,6 +416,45 @@ public class ExpressionResolverUnitTestCase {
         assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.property1,test.property2:default}")).asString());
     }
 
+    @Test
+    public void testNoExpressionNotCopied() throws OperationFailedException {
+        ModelNode node = new ModelNode();
+        node.get("map", "plain").set("a");
+        node.get("list").add("one");
+        node.get("prop").set("plain", "plain");
+        long skipped = ExpressionResolverImpl.getSkippedCount();
+        assertSame(node, ExpressionResolver.TEST_RESOLVER.resolveExpressions(node));
+        assertEquals(skipped + 1, ExpressionResolverImpl.getSkippedCount());
+
+        long resolved = ExpressionResolverImpl.getResolvedCount();
+        node.get("list").add(expression("${test.property1:default}"));
+        assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(node).get("list").asList().get(1).asString());
+        assertEquals(resolved + 1, ExpressionResolverImpl.getResolvedCount());
+    }
+
+    @Test
+    public void testRepeatedExpressionResolvedLive() throws OperationFailedException {
+        ModelNode node = expression("http://${test.prop.host}:${test.prop.port:8080}/");
+        System.setProperty("test.prop.host", "one");
+        try {
+            assertEquals("http://one:8080/", ExpressionResolver.TEST_RESOLVER.resolveExpressions(node).asString());
+            System.setProperty("test.prop.host", "two");
+            System.setProperty("test.prop.port", "${test.prop.port.intermediate}");
+            System.setProperty("test.prop.port.intermediate", "9990");
+            assertEquals("http://two:9990/", ExpressionResolver.TEST_RESOLVER.resolveExpressions(node).asString());
+        } finally {
+            System.clearProperty("test.prop.host");
+            System.clearProperty("test.prop.port");
+            System.clearProperty("test.prop.port.intermediate");
+        }
+        try {
+            ExpressionResolver.TEST_RESOLVER.resolveExpressions(node);
+            fail("Did not fail with OFE: " + node);
+        } catch (OperationFailedException ok) {
+            // test.prop.host is no longer set
+        }
+    }
+
     private ModelNode expression(String str) {
         return new ModelNode(new ValueExpression(str));
     }
@@ -182,4 +182,50 @@ public class PathAddressTestCase {
             assertThat(ex.getMessage(), containsString(wrongAddress));
         }
     }
+
+    @Test
+    public void testEqualElementsHaveEqualHashCodes() {
+        PathElement bracketed = PathElement.pathElement("subsystem", "[io]");
+        PathElement plain = PathElement.pathElement("subsystem", "io");
+        Assert.assertEquals(plain, bracketed);
+        Assert.assertEquals(plain.hashCode(), bracketed.hashCode());
+        Assert.assertEquals(PathAddress.pathAddress(plain), PathAddress.pathAddress(bracketed));
+    }
+
+    @Test
+    public void testParentIsCached() {
+        PathAddress pathAddress = PathAddress.pathAddress(PathElement.pathElement(HOST, "a"), PathElement.pathElement(SERVER, "b"));
+        Assert.assertSame(pathAddress.getParent(), pathAddress.getParent());
+        Assert.assertEquals(PathAddress.pathAddress(HOST, "a"), pathAddress.getParent());
+    }
+
+    @Test
+    public void testInterning() {
+        PathElement element = PathInterner.intern(PathElement.pathElement(HOST, "intern-a"));
+        Assert.assertSame(element, PathInterner.intern(PathElement.pathElement(HOST, "intern-a")));
+
+        ModelNode node = new ModelNode().add(HOST, "intern-a").add(SERVER, "intern-b");
+        PathAddress pathAddress = PathAddress.pathAddress(node);
+        PathInterner.put(node, pathAddress);
+        Assert.assertSame(pathAddress, PathInterner.get(new ModelNode().add(HOST, "intern-a").add(SERVER, "intern-b")));
+        // The stored key is a copy
+        node.add("subsystem", "c");
+        Assert.assertSame(pathAddress, PathInterner.get(new ModelNode().add(HOST, "intern-a").add(SERVER, "intern-b")));
+        Assert.assertNull(PathInterner.get(node));
+    }
+
+    @Test
+    public void testObjectAddressIsNotInterned() {
+        ModelNode node = new ModelNode();
+        node.get(HOST).set("intern-c");
+        node.get(SERVER).set("intern-d");
+        PathInterner.put(node, PathAddress.pathAddress(node));
+
+        // Equal to the node above, but parses to a different address
+        ModelNode reordered = new ModelNode();
+        reordered.get(SERVER).set("intern-d");
+        reordered.get(HOST).set("intern-c");
+        Assert.assertNull(PathInterner.get(reordered));
+        Assert.assertNull(PathInterner.get(node));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.access.permission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.constraint.AbstractConstraint;
+import org.jboss.as.controller.access.constraint.Constraint;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DecisionCache}.
+ */
+public class DecisionCacheTestCase {
+
+    @Test
+    public void testDecisionIsReused() {
+        CountingConstraint user = new CountingConstraint(false);
+        ManagementPermissionCollection userPermissions = createUserPermissions(user);
+        Constraint required = new CountingConstraint(false);
+        DecisionCache cache = new DecisionCache();
+
+        assertTrue(cache.implies(userPermissions, new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, required)));
+        assertTrue(cache.implies(userPermissions, new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, required)));
+        assertEquals(1, user.checks);
+
+        // A different constraint instance is a different requirement
+        assertTrue(cache.implies(userPermissions, new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, new CountingConstraint(false))));
+        assertEquals(2, user.checks);
+
+        cache.clear();
+        assertTrue(cache.implies(userPermissions, new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, required)));
+        assertEquals(3, user.checks);
+    }
+
+    @Test
+    public void testDecisionsAreKeptPerCollection() {
+        Constraint required = new CountingConstraint(false);
+        DecisionCache cache = new DecisionCache();
+
+        assertTrue(cache.implies(createUserPermissions(new CountingConstraint(false)),
+                new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, required)));
+        assertFalse(cache.implies(createUserPermissions(new CountingConstraint(true)),
+                new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, required)));
+    }
+
+    private static ManagementPermissionCollection createUserPermissions(Constraint constraint) {
+        ManagementPermissionCollection result = new ManagementPermissionCollection("test", SimpleManagementPermission.class);
+        result.add(new SimpleManagementPermission(Action.ActionEffect.READ_CONFIG, constraint));
+        return result;
+    }
+
+    private static class CountingConstraint extends AbstractConstraint {
+        private final boolean violates;
+        private int checks;
+
+        private CountingConstraint(boolean violates) {
+            this.violates = violates;
+        }
+
+        @Override
+        public boolean violates(Constraint other, Action.ActionEffect actionEffect) {
+            checks++;
+            return violates;
+        }
+    }
+}
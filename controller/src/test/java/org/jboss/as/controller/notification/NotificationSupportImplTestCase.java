@@ -24,18 +24,27 @@ package org.jboss.as.controller.notification;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.jboss.as.controller.PathAddress.pathAddress;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.notification.NotificationFilter.ALL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -117,4 +126,140 @@ public class NotificationSupportImplTestCase {
         // handled the 2nd notifications2 that were emitted
         assertEquals(notifications2, handler.getNotifications().subList(9, 12));
     }
+
+    @Test
+    public void testSlowHandlerDoesNotDelayOtherHandlers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            final CountDownLatch release = new CountDownLatch(1);
+            NotificationHandler slow = new NotificationHandler() {
+                @Override
+                public void handleNotification(Notification notification) {
+                    try {
+                        release.await(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            CountDownLatch latch = new CountDownLatch(2);
+            CountdownListBackedNotificationHandler fast = new CountdownListBackedNotificationHandler(latch);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, slow, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, fast, ALL);
+
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "foo"));
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "bar"));
+
+            // the fast handler gets its notifications while the slow one is still blocked on the first
+            assertTrue(latch.await(5, SECONDS));
+            release.countDown();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCoalesceAttributeWrites() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            NotificationSupport notificationSupport = new NotificationSupports.NonBlockingNotificationSupport(NotificationHandlerRegistration.Factory.create(), executor, true);
+            final CountDownLatch release = new CountDownLatch(1);
+            // occupy the only thread so the notifications are queued
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        release.await(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            CountDownLatch latch = new CountDownLatch(2);
+            CountdownListBackedNotificationHandler handler = new CountdownListBackedNotificationHandler(latch);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+            PathAddress source = pathAddress("resource", "foo");
+            notificationSupport.emit(attributeValueWritten(source, "a", 1, 2));
+            Notification other = new Notification("foo", source, "foo");
+            notificationSupport.emit(other);
+            notificationSupport.emit(attributeValueWritten(source, "a", 2, 3));
+            release.countDown();
+
+            assertTrue(latch.await(5, SECONDS));
+            assertEquals(2, handler.getNotifications().size());
+            assertEquals(other, handler.getNotifications().get(0));
+            ModelNode data = handler.getNotifications().get(1).getData();
+            assertEquals(1, data.get(GlobalNotifications.OLD_VALUE).asInt());
+            assertEquals(3, data.get(GlobalNotifications.NEW_VALUE).asInt());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectedDeliveryDoesNotBlockLaterNotifications() throws Exception {
+        RejectOnceExecutor executor = new RejectOnceExecutor();
+        NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+        CountDownLatch latch = new CountDownLatch(1);
+        CountdownListBackedNotificationHandler handler = new CountdownListBackedNotificationHandler(latch);
+        notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+        notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "rejected"));
+        Notification delivered = new Notification("foo", pathAddress("resource", "foo"), "delivered");
+        notificationSupport.emit(delivered);
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(Collections.singletonList(delivered), handler.getNotifications());
+    }
+
+    private static Notification attributeValueWritten(PathAddress source, String attributeName, int oldValue, int newValue) {
+        ModelNode data = new ModelNode();
+        data.get(NAME).set(attributeName);
+        data.get(GlobalNotifications.OLD_VALUE).set(oldValue);
+        data.get(GlobalNotifications.NEW_VALUE).set(newValue);
+        return new Notification(ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION, source, "written", data);
+    }
+
+    /**
+     * Runs tasks on the calling thread, except the first one which it rejects.
+     */
+    private static class RejectOnceExecutor extends AbstractExecutorService {
+
+        private boolean rejected;
+
+        @Override
+        public void execute(Runnable command) {
+            if (!rejected) {
+                rejected = true;
+                throw new RejectedExecutionException();
+            }
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.operation.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the {@code write-attributes} global operation is not offered by a host controller, whose operation
+ * routing cannot push it to the servers of the domain.
+ */
+public class WriteAttributesDomainTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition STRING_ATTRIBUTE = new SimpleAttributeDefinitionBuilder("string-attribute", ModelType.STRING, true)
+            .build();
+
+    private static final PathAddress TEST_ADDRESS = PathAddress.pathAddress("profile", "test");
+
+    public WriteAttributesDomainTestCase() {
+        super(ProcessType.HOST_CONTROLLER);
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        rootRegistration.registerSubModel(new ModelOnlyResourceDefinition(TEST_ADDRESS.getElement(0),
+                new NonResolvingResourceDescriptionResolver(), STRING_ATTRIBUTE));
+    }
+
+    @Test
+    public void testNotRegistered() throws OperationFailedException {
+        executeCheckNoFailure(createOperation("add", TEST_ADDRESS));
+
+        ModelNode names = executeForResult(createOperation(READ_OPERATION_NAMES_OPERATION, TEST_ADDRESS));
+        Assert.assertTrue(names.asList().contains(new ModelNode(WRITE_ATTRIBUTE_OPERATION)));
+        Assert.assertFalse(names.asList().contains(new ModelNode(WRITE_ATTRIBUTES_OPERATION)));
+
+        executeForFailure(createOperation(WRITE_ATTRIBUTES_OPERATION, TEST_ADDRESS));
+    }
+
+    @Test
+    public void testWriteAttributeStillWorks() throws OperationFailedException {
+        executeCheckNoFailure(createOperation("add", TEST_ADDRESS));
+
+        ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, TEST_ADDRESS);
+        write.get(NAME).set(STRING_ATTRIBUTE.getName());
+        write.get(VALUE).set("a");
+        executeCheckNoFailure(write);
+
+        ModelNode read = createOperation(READ_ATTRIBUTE_OPERATION, TEST_ADDRESS);
+        read.get(NAME).set(STRING_ATTRIBUTE.getName());
+        Assert.assertEquals("a", executeForResult(read).asString());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.operation.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTES_OPERATION;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@code write-attributes} global operation.
+ */
+public class WriteAttributesTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition STRING_ATTRIBUTE = new SimpleAttributeDefinitionBuilder("string-attribute", ModelType.STRING, true)
+            .build();
+    private static final AttributeDefinition INT_ATTRIBUTE = new SimpleAttributeDefinitionBuilder("int-attribute", ModelType.INT, true)
+            .build();
+
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+    private static final PathAddress TEST_ADDRESS = PathAddress.pathAddress("subsystem", "test");
+    private static final PathAddress CHILD_ADDRESS = TEST_ADDRESS.append(CHILD);
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        ManagementResourceRegistration subsystem = rootRegistration.registerSubModel(new ModelOnlyResourceDefinition(TEST_ADDRESS.getElement(0),
+                new NonResolvingResourceDescriptionResolver(), STRING_ATTRIBUTE, INT_ATTRIBUTE));
+        subsystem.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement(CHILD.getKey()),
+                new NonResolvingResourceDescriptionResolver(), STRING_ATTRIBUTE, INT_ATTRIBUTE));
+    }
+
+    @Test
+    public void testWriteAttributes() throws OperationFailedException {
+        addResources();
+
+        ModelNode op = createOperation(WRITE_ATTRIBUTES_OPERATION, TEST_ADDRESS);
+        op.get(ATTRIBUTES).add(attribute(null, STRING_ATTRIBUTE, new ModelNode("a")));
+        op.get(ATTRIBUTES).add(attribute(CHILD, STRING_ATTRIBUTE, new ModelNode("b")));
+        op.get(ATTRIBUTES).add(attribute(CHILD, INT_ATTRIBUTE, new ModelNode(1)));
+        executeCheckNoFailure(op);
+
+        Assert.assertEquals("a", readAttribute(TEST_ADDRESS, STRING_ATTRIBUTE).asString());
+        Assert.assertEquals("b", readAttribute(CHILD_ADDRESS, STRING_ATTRIBUTE).asString());
+        Assert.assertEquals(1, readAttribute(CHILD_ADDRESS, INT_ATTRIBUTE).asInt());
+    }
+
+    @Test
+    public void testInvalidValueWritesNothing() throws OperationFailedException {
+        addResources();
+
+        ModelNode op = createOperation(WRITE_ATTRIBUTES_OPERATION, TEST_ADDRESS);
+        op.get(ATTRIBUTES).add(attribute(null, STRING_ATTRIBUTE, new ModelNode("a")));
+        op.get(ATTRIBUTES).add(attribute(CHILD, INT_ATTRIBUTE, new ModelNode("not a number")));
+        executeForFailure(op);
+
+        Assert.assertFalse(readAttribute(TEST_ADDRESS, STRING_ATTRIBUTE).isDefined());
+    }
+
+    @Test
+    public void testUnknownAttribute() throws OperationFailedException {
+        addResources();
+
+        ModelNode op = createOperation(WRITE_ATTRIBUTES_OPERATION, TEST_ADDRESS);
+        op.get(ATTRIBUTES).add(attribute(null, STRING_ATTRIBUTE, new ModelNode("a")));
+        ModelNode unknown = attribute(CHILD, STRING_ATTRIBUTE, new ModelNode("b"));
+        unknown.get(NAME).set("unknown");
+        op.get(ATTRIBUTES).add(unknown);
+        executeForFailure(op);
+
+        Assert.assertFalse(readAttribute(TEST_ADDRESS, STRING_ATTRIBUTE).isDefined());
+    }
+
+    private void addResources() throws OperationFailedException {
+        executeCheckNoFailure(createOperation("add", TEST_ADDRESS));
+        executeCheckNoFailure(createOperation("add", CHILD_ADDRESS));
+    }
+
+    private ModelNode readAttribute(PathAddress address, AttributeDefinition attribute) throws OperationFailedException {
+        ModelNode op = createOperation(READ_ATTRIBUTE_OPERATION, address);
+        op.get(NAME).set(attribute.getName());
+        return executeForResult(op);
+    }
+
+    private static ModelNode attribute(PathElement relativeAddress, AttributeDefinition attribute, ModelNode value) {
+        ModelNode result = new ModelNode();
+        if (relativeAddress != null) {
+            result.get(ADDRESS).set(PathAddress.pathAddress(relativeAddress).toModelNode());
+        }
+        result.get(NAME).set(attribute.getName());
+        result.get(VALUE).set(value);
+        return result;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the grouping of configuration file writes by {@link ConfigurationGroupCommit}.
+ */
+public class ConfigurationGroupCommitTestCase {
+
+    @Test
+    public void testChangesAreWrittenTogether() throws Exception {
+        ConfigurationGroupCommit groupCommit = new ConfigurationGroupCommit(TimeUnit.MINUTES.toMillis(1), 3);
+        RecordingWriter writer = new RecordingWriter(0);
+
+        groupCommit.committed(writer, content("a"));
+        groupCommit.committed(writer, content("b"));
+        Assert.assertTrue(writer.getWritten().isEmpty());
+        Assert.assertEquals(2, groupCommit.getPendingOperations());
+
+        // Reaching max-operations writes without waiting for the window
+        groupCommit.committed(writer, content("c"));
+        Assert.assertEquals(Collections.singletonList("c"), writer.getWritten());
+        Assert.assertEquals(0, groupCommit.getPendingOperations());
+    }
+
+    @Test
+    public void testWritesFollowCommitOrder() throws Exception {
+        ConfigurationGroupCommit groupCommit = new ConfigurationGroupCommit(10, 0);
+        RecordingWriter writer = new RecordingWriter(0);
+
+        groupCommit.committed(writer, content("a"));
+        groupCommit.committed(writer, content("b"));
+        groupCommit.flush();
+        groupCommit.committed(writer, content("c"));
+        Assert.assertTrue(writer.awaitWrites(2));
+
+        // The superseded content is never written, and the last content is written last
+        Assert.assertEquals(Arrays.asList("b", "c"), writer.getWritten());
+        Assert.assertEquals(0, groupCommit.getPendingOperations());
+    }
+
+    @Test
+    public void testFlushReportsWriteFailure() throws Exception {
+        ConfigurationGroupCommit groupCommit = new ConfigurationGroupCommit(TimeUnit.MINUTES.toMillis(1), 0);
+        RecordingWriter writer = new RecordingWriter(1);
+
+        groupCommit.committed(writer, content("a"));
+        try {
+            groupCommit.flush();
+            Assert.fail("The write failure was not reported");
+        } catch (ConfigurationPersistenceException expected) {
+            // good
+        }
+        // The failed content is still pending, and the next flush writes it
+        Assert.assertEquals(1, groupCommit.getPendingOperations());
+        groupCommit.flush();
+        Assert.assertEquals(Collections.singletonList("a"), writer.getWritten());
+        Assert.assertEquals(0, groupCommit.getPendingOperations());
+    }
+
+    @Test
+    public void testFailedWindowWriteStaysPending() throws Exception {
+        ConfigurationGroupCommit groupCommit = new ConfigurationGroupCommit(10, 0);
+        RecordingWriter writer = new RecordingWriter(1);
+
+        groupCommit.committed(writer, content("a"));
+        Assert.assertTrue(writer.awaitAttempt());
+        Assert.assertEquals(1, groupCommit.getPendingOperations());
+
+        groupCommit.flush();
+        Assert.assertEquals(Collections.singletonList("a"), writer.getWritten());
+        Assert.assertEquals(0, groupCommit.getPendingOperations());
+    }
+
+    private static ExposedByteArrayOutputStream content(String value) {
+        ExposedByteArrayOutputStream content = new ExposedByteArrayOutputStream(16);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        content.write(bytes, 0, bytes.length);
+        return content;
+    }
+
+    /**
+     * Records the content written, after failing the given number of writes.
+     */
+    private static class RecordingWriter implements ConfigurationGroupCommit.Writer {
+
+        private final List<String> written = new ArrayList<String>();
+        private final CountDownLatch attempted = new CountDownLatch(1);
+        private int failures;
+
+        private RecordingWriter(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public synchronized void write(ExposedByteArrayOutputStream content) throws ConfigurationPersistenceException {
+            attempted.countDown();
+            if (failures > 0) {
+                failures--;
+                throw new ConfigurationPersistenceException("failed");
+            }
+            written.add(new String(content.toByteArray(), StandardCharsets.UTF_8));
+            notifyAll();
+        }
+
+        private synchronized List<String> getWritten() {
+            return new ArrayList<String>(written);
+        }
+
+        private boolean awaitAttempt() throws InterruptedException {
+            return attempted.await(5, TimeUnit.SECONDS);
+        }
+
+        private synchronized boolean awaitWrites(int count) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (written.size() < count) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+}
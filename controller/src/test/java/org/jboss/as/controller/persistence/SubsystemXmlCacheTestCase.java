@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the reuse of subsystem writer output by {@link AbstractConfigurationPersister}.
+ */
+public class SubsystemXmlCacheTestCase {
+
+    private final Map<String, Integer> invocations = new HashMap<String, Integer>();
+    private AbstractConfigurationPersister persister;
+    private ModelNode model;
+
+    @Before
+    public void setUp() {
+        persister = new AbstractConfigurationPersister(new RootWriter()) {
+            @Override
+            public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<ModelNode> load() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        persister.registerSubsystemWriter("a", new SubsystemWriter("a"));
+        persister.registerSubsystemWriter("b", new SubsystemWriter("b"));
+        model = new ModelNode();
+        model.get(SUBSYSTEM, "a", "value").set(1);
+        model.get(SUBSYSTEM, "b", "value").set(1);
+    }
+
+    @Test
+    public void testUnaffectedSubsystemIsReplayed() throws Exception {
+        marshal(null).commit();
+        assertInvocations(1, 1);
+
+        model.get(SUBSYSTEM, "a", "value").set(2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output, Collections.singleton(PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, "a")))).commit();
+        assertInvocations(2, 1);
+        Assert.assertEquals(fullMarshal(), output.toString("UTF-8"));
+    }
+
+    @Test
+    public void testAncestorInvalidatesAll() throws Exception {
+        marshal(null).commit();
+        marshal(Collections.singleton(PathAddress.EMPTY_ADDRESS)).commit();
+        assertInvocations(2, 2);
+    }
+
+    @Test
+    public void testRolledBackOutputIsNotCached() throws Exception {
+        marshal(null).commit();
+
+        model.get(SUBSYSTEM, "a", "value").set(2);
+        marshal(Collections.singleton(PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, "a"))));
+        model.get(SUBSYSTEM, "a", "value").set(1);
+
+        // Nothing affected since the last committed store, so everything is replayed
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output, Collections.<PathAddress>emptySet());
+        assertInvocations(2, 1);
+        Assert.assertEquals(fullMarshal(), output.toString("UTF-8"));
+    }
+
+    private SubsystemXmlCache.Update marshal(Set<PathAddress> affectedAddresses) throws Exception {
+        return persister.marshallAsXml(model, new ByteArrayOutputStream(), affectedAddresses);
+    }
+
+    private String fullMarshal() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return output.toString("UTF-8");
+    }
+
+    private void assertInvocations(int a, int b) {
+        Assert.assertEquals(Integer.valueOf(a), invocations.get("a"));
+        Assert.assertEquals(Integer.valueOf(b), invocations.get("b"));
+    }
+
+    private static class RootWriter implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, ModelMarshallingContext context) throws XMLStreamException {
+            writer.writeStartDocument();
+            writer.writeStartElement("server");
+            for (String name : context.getModelNode().get(SUBSYSTEM).keys()) {
+                context.getSubsystemWriter(name).writeContent(writer,
+                        new SubsystemMarshallingContext(context.getModelNode().get(SUBSYSTEM, name), writer));
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+    }
+
+    private class SubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String name;
+
+        SubsystemWriter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            Integer count = invocations.get(name);
+            invocations.put(name, count == null ? 1 : count + 1);
+            writer.writeStartElement("subsystem");
+            writer.writeAttribute("name", name);
+            writer.writeAttribute("value", context.getModelNode().get("value").asString());
+            writer.writeEndElement();
+        }
+    }
+}
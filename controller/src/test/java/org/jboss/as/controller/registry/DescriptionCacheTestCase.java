@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCALE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests that {@code read-resource-description} reuses the descriptions cached by each resource registration.
+ */
+public class DescriptionCacheTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    private final AtomicInteger built = new AtomicInteger();
+    private ManagementResourceRegistration childRegistration;
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, ProcessType.STANDALONE_SERVER);
+        childRegistration = registration.registerSubModel(new SimpleResourceDefinition(CHILD, new NonResolvingResourceDescriptionResolver() {
+            @Override
+            public String getResourceDescription(Locale locale, ResourceBundle bundle) {
+                built.incrementAndGet();
+                return "child";
+            }
+        }));
+        managementModel.getRootResource().registerChild(CHILD, Resource.Factory.create());
+    }
+
+    @Test
+    public void testDescriptionReused() throws Exception {
+        ModelNode first = executeForResult(createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.pathAddress(CHILD)));
+        assertEquals(1, built.get());
+
+        ModelNode second = executeForResult(createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.pathAddress(CHILD)));
+        assertEquals(1, built.get());
+        // The handler decorates its copy of the description, which must not leak into the cached one
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testDescriptionCachedPerLocale() throws Exception {
+        executeForResult(createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.pathAddress(CHILD)));
+        assertEquals(1, built.get());
+
+        ModelNode operation = createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.pathAddress(CHILD));
+        operation.get(LOCALE).set(Locale.GERMAN.toString());
+        executeForResult(operation);
+        assertEquals(2, built.get());
+        executeForResult(operation);
+        assertEquals(2, built.get());
+    }
+
+    @Test
+    public void testRegistrationChangeInvalidatesDescription() throws Exception {
+        ModelNode description = executeForResult(createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.pathAddress(CHILD)));
+        assertEquals(1, built.get());
+        assertFalse(description.get(ATTRIBUTES).has("attr"));
+
+        childRegistration.registerReadOnlyAttribute(SimpleAttributeDefinitionBuilder.create("attr", ModelType.STRING, true).build(), null);
+
+        description = executeForResult(createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.pathAddress(CHILD)));
+        assertEquals(2, built.get());
+        assertTrue(description.get(ATTRIBUTES).has("attr"));
+    }
+}
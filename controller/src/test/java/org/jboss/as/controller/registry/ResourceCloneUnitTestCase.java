@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.Test;
+
+/**
+ * Tests of {@link Resource#clone()} for the default resource implementation, in particular of copies that share
+ * children with a {@link Resource.Tools#markPublished(Resource) published} tree.
+ */
+public class ResourceCloneUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    @Test
+    public void testPublishedCloneIsIndependent() {
+        Resource root = createModel();
+        Resource.Tools.markPublished(root);
+
+        Resource clone = root.clone();
+        clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("changed");
+        clone.requireChild(SUBSYSTEM_A).registerChild(PathElement.pathElement("child", "two"), Resource.Factory.create());
+        clone.removeChild(SUBSYSTEM_B);
+
+        assertEquals("a-one", root.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals(1, root.requireChild(SUBSYSTEM_A).getChildrenNames("child").size());
+        assertTrue(root.hasChild(SUBSYSTEM_B));
+
+        assertEquals("changed", clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals(2, clone.requireChild(SUBSYSTEM_A).getChildrenNames("child").size());
+        assertFalse(clone.hasChild(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testPublishedTreeIsNotCopiedOnRead() {
+        Resource root = createModel();
+        Resource.Tools.markPublished(root);
+        Resource clone = root.clone();
+        Resource.Tools.markPublished(clone);
+
+        // Reads through a published copy hand out the shared resources as they are
+        assertSame(root.requireChild(SUBSYSTEM_B), clone.requireChild(SUBSYSTEM_B));
+        assertSame(clone.requireChild(SUBSYSTEM_B), clone.requireChild(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testAccessedChildrenAreCopiedOnce() {
+        Resource root = createModel();
+        Resource.Tools.markPublished(root);
+        Resource clone = root.clone();
+
+        Resource child = clone.requireChild(SUBSYSTEM_A);
+        assertNotSame(root.requireChild(SUBSYSTEM_A), child);
+        assertSame(child, clone.requireChild(SUBSYSTEM_A));
+    }
+
+    @Test
+    public void testChildOrderIsPreserved() {
+        Resource root = Resource.Factory.create();
+        List<String> names = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            String name = "s" + (19 - i);
+            names.add(name);
+            root.registerChild(PathElement.pathElement("subsystem", name), Resource.Factory.create());
+        }
+        Resource.Tools.markPublished(root);
+        Resource clone = root.clone();
+        clone.requireChild(PathElement.pathElement("subsystem", "s7")).getModel().get("attr").set(true);
+
+        assertEquals(names, new ArrayList<String>(clone.getChildrenNames("subsystem")));
+    }
+
+    @Test
+    public void testUnpublishedCloneIsIndependent() {
+        Resource root = createModel();
+        Resource.Tools.markPublished(root);
+        Resource working = root.clone();
+        working.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("working");
+
+        // A clone of a tree that is still being modified must not see later modifications
+        Resource snapshot = working.clone();
+        working.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("later");
+        working.requireChild(SUBSYSTEM_B).getModel().get("attr").set("later");
+
+        assertEquals("working", snapshot.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("b", snapshot.requireChild(SUBSYSTEM_B).getModel().get("attr").asString());
+        assertEquals("b", root.requireChild(SUBSYSTEM_B).getModel().get("attr").asString());
+    }
+
+    private static Resource createModel() {
+        Resource root = Resource.Factory.create();
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource one = Resource.Factory.create();
+        one.getModel().get("attr").set("a-one");
+        a.registerChild(CHILD, one);
+        root.registerChild(SUBSYSTEM_A, a);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        root.registerChild(SUBSYSTEM_B, b);
+        return root;
+    }
+}
@@ -21,21 +21,25 @@
  */
 package org.jboss.as.repository;
 
-import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.msc.service.Service;
@@ -159,8 +163,8 @@ public interface ContentRepository {
         private static class ContentRepositoryImpl implements ContentRepository, Service<ContentRepository> {
 
             protected static final String CONTENT = "content";
+            private static final long TRANSFER_SIZE = 1024 * 1024;
             private final File repoRoot;
-            protected final MessageDigest messageDigest;
             private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<String, Set<ContentReference>>();
             private final Map<String, Long> obsoleteContents = new HashMap<String, Long>();
             private final long obsolescenceTimeout;
@@ -180,8 +184,13 @@ public interface ContentRepository {
                 }
                 this.repoRoot = repoRoot;
                 this.obsolescenceTimeout = obsolescenceTimeout;
+                // fail fast if SHA-1 is not available
+                createMessageDigest();
+            }
+
+            private static MessageDigest createMessageDigest() {
                 try {
-                    this.messageDigest = MessageDigest.getInstance("SHA-1");
+                    return MessageDigest.getInstance("SHA-1");
                 } catch (NoSuchAlgorithmException e) {
                     throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
                 }
@@ -191,24 +200,32 @@ public interface ContentRepository {
             public byte[] addContent(InputStream stream) throws IOException {
                 byte[] sha1Bytes;
                 Path tmp = Files.createTempFile(repoRoot.toPath(), CONTENT, ".tmp");
-                OutputStream fos = Files.newOutputStream(tmp);
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    try {
-                        DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                        BufferedInputStream bis = new BufferedInputStream(stream);
-                        byte[] bytes = new byte[8192];
-                        int read;
-                        while ((read = bis.read(bytes)) > -1) {
-                            dos.write(bytes, 0, read);
-                        }
-                        fos.flush();
-                        fos.close();
-                        fos = null;
-                    } finally {
-                        safeClose(fos);
+                // Each call has its own digest, so concurrent uploads are hashed in parallel. The content is hashed
+                // as it is transferred into the temp file, which is in the repository root and hence on the same
+                // file system as its final location.
+                final MessageDigest messageDigest = createMessageDigest();
+                final long start = System.nanoTime();
+                long size = 0;
+                FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE);
+                try {
+                    DigestReadableByteChannel in = new DigestReadableByteChannel(Channels.newChannel(stream), messageDigest);
+                    while (!in.isEndOfStream()) {
+                        size += out.transferFrom(in, size, TRANSFER_SIZE);
                     }
-                    sha1Bytes = messageDigest.digest();
+                    out.close();
+                    out = null;
+                } catch (IOException e) {
+                    safeClose(out);
+                    out = null;
+                    Files.deleteIfExists(tmp);
+                    throw e;
+                } finally {
+                    safeClose(out);
+                }
+                sha1Bytes = messageDigest.digest();
+                if (DeploymentRepositoryLogger.ROOT_LOGGER.isDebugEnabled()) {
+                    final long elapsed = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Hashed and stored %d bytes in %d ms (%d KB/s)", size, elapsed, size * 1000 / 1024 / elapsed);
                 }
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
@@ -309,6 +326,8 @@ public interface ContentRepository {
                 Path localTmp = permanentFile.resolveSibling("tmp");
                 try {
                     Files.move(tmpFile, permanentFile);
+                } catch (FileAlreadyExistsException ignored) {
+                    // the same content was added concurrently; the temp file is deleted below
                 } catch (IOException ioex) {
                     // AS7-3574. Try to avoid writing the permanent file bit by bit in we crash in the middle.
                     // Copy tmpFile to another tmpfile in the same dir as the permanent file (and thus same filesystem)
@@ -443,6 +462,51 @@ public interface ContentRepository {
                 return localReferences;
             }
 
+            /**
+             * A channel that updates a digest with the bytes read through it, and remembers whether the end of the
+             * underlying stream has been reached, which {@link FileChannel#transferFrom} does not report.
+             */
+            private static final class DigestReadableByteChannel implements ReadableByteChannel {
+
+                private final ReadableByteChannel delegate;
+                private final MessageDigest digest;
+                private boolean endOfStream;
+
+                private DigestReadableByteChannel(final ReadableByteChannel delegate, final MessageDigest digest) {
+                    this.delegate = delegate;
+                    this.digest = digest;
+                }
+
+                @Override
+                public int read(final ByteBuffer dst) throws IOException {
+                    final int position = dst.position();
+                    final int read = delegate.read(dst);
+                    if (read < 0) {
+                        endOfStream = true;
+                    } else if (read > 0) {
+                        final ByteBuffer readBytes = dst.duplicate();
+                        readBytes.flip();
+                        readBytes.position(position);
+                        digest.update(readBytes);
+                    }
+                    return read;
+                }
+
+                boolean isEndOfStream() {
+                    return endOfStream;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return delegate.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    delegate.close();
+                }
+            }
+
             protected static void safeClose(final Closeable closeable) {
                 if (closeable != null) {
                     try {
@@ -24,14 +24,23 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.jboss.vfs.VirtualFile;
 import org.junit.After;
 import org.junit.Before;
@@ -100,6 +109,44 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method, of class ContentRepository, with the same and different content added concurrently.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final int threads = 8;
+        final byte[][] contents = new byte[threads][];
+        final Random random = new Random(42);
+        for (int i = 0; i < threads; i++) {
+            // every other thread adds the same content
+            contents[i] = i % 2 == 0 ? new byte[3 * 1024 * 1024 + 17] : contents[0];
+            if (i % 2 == 0) {
+                random.nextBytes(contents[i]);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (final byte[] content : contents) {
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return repository.addContent(new ByteArrayInputStream(content));
+                    }
+                }));
+            }
+            for (int i = 0; i < threads; i++) {
+                byte[] expected = MessageDigest.getInstance("SHA-1").digest(contents[i]);
+                byte[] result = results.get(i).get();
+                assertThat(HashUtil.bytesToHexString(result), is(HashUtil.bytesToHexString(expected)));
+                assertThat(repository.hasContent(result), is(true));
+                assertThat(Files.size(repository.getContent(result).getPhysicalFile().toPath()), is((long) contents[i].length));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test of addContentReference method, of class ContentRepository.
      */
@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Watches a deployment directory, and the subdirectories the scanner descends into, for changes reported by a
+ * {@link WatchService}, and requests a scan whenever something relevant changes. Changes to the markers the
+ * scanner itself writes while a deployment is in progress are ignored, as is the appearance of the markers that record
+ * the outcome of a deployment. Removing an outcome marker still requests a scan, as that is how a user asks for a
+ * deployment to be undeployed or retried.
+ * <p>
+ * The content of exploded deployments is not watched; changes within it are found by the fallback scan.
+ */
+class DeploymentDirectoryWatcher implements Runnable, Closeable {
+
+    private final Path directory;
+    private final Runnable scanRequest;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new HashMap<WatchKey, Path>();
+    private final Thread thread;
+
+    private DeploymentDirectoryWatcher(final Path directory, final Runnable scanRequest) throws IOException {
+        this.directory = directory;
+        this.scanRequest = scanRequest;
+        this.watchService = directory.getFileSystem().newWatchService();
+        this.thread = new Thread(this, "DeploymentScanner-watch - " + directory);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching a directory.
+     *
+     * @param directory the deployment directory
+     * @param scanRequest task invoked when a scan is needed; it is invoked from the watching thread so it should
+     *                    just schedule the scan
+     * @return the watcher
+     * @throws IOException if the directory cannot be watched
+     */
+    static DeploymentDirectoryWatcher start(final File directory, final Runnable scanRequest) throws IOException {
+        final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(directory.toPath(), scanRequest);
+        try {
+            watcher.register(watcher.directory);
+        } catch (IOException e) {
+            watcher.close();
+            throw e;
+        }
+        watcher.thread.start();
+        return watcher;
+    }
+
+    private void register(final Path dir) throws IOException {
+        keys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+            for (Path child : children) {
+                if (isWatchedDirectory(child)) {
+                    register(child);
+                }
+            }
+        }
+    }
+
+    private static boolean isWatchedDirectory(final Path path) {
+        // same rule the scanner uses to decide whether to descend into a directory
+        return Files.isDirectory(path) && !FileSystemDeploymentService.ARCHIVE_PATTERN.matcher(path.getFileName().toString()).matches();
+    }
+
+    private static boolean isTransientMarker(final String fileName) {
+        return fileName.endsWith(FileSystemDeploymentService.DEPLOYING)
+                || fileName.endsWith(FileSystemDeploymentService.UNDEPLOYING)
+                || fileName.endsWith(FileSystemDeploymentService.PENDING);
+    }
+
+    private static boolean isOutcomeMarker(final String fileName) {
+        return fileName.endsWith(FileSystemDeploymentService.DEPLOYED)
+                || fileName.endsWith(FileSystemDeploymentService.FAILED_DEPLOY)
+                || fileName.endsWith(FileSystemDeploymentService.UNDEPLOYED)
+                || fileName.endsWith(FileSystemDeploymentService.SKIP_DEPLOY);
+    }
+
+    static boolean requiresScan(final WatchEvent.Kind<?> kind, final String fileName) {
+        if (isTransientMarker(fileName)) {
+            return false;
+        }
+        // the scanner writes outcome markers itself, but a user deletes them to undeploy or redeploy
+        return kind == ENTRY_DELETE || !isOutcomeMarker(fileName);
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (;;) {
+                final WatchKey key = watchService.take();
+                final Path dir = keys.get(key);
+                if (dir == null) {
+                    key.cancel();
+                    continue;
+                }
+                boolean scan = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        scan = true;
+                        continue;
+                    }
+                    final Path child = dir.resolve((Path) event.context());
+                    if (requiresScan(event.kind(), child.getFileName().toString())) {
+                        scan = true;
+                    }
+                    if (event.kind() == ENTRY_CREATE && isWatchedDirectory(child)) {
+                        try {
+                            register(child);
+                        } catch (IOException e) {
+                            ROOT_LOGGER.cannotWatchDirectory(e, child.toString());
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    keys.remove(key);
+                }
+                if (scan) {
+                    ROOT_LOGGER.tracef("Change detected in %s, requesting a scan", dir);
+                    scanRequest.run();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.tracef(e, "Failed closing watch service for %s", directory);
+        }
+    }
+}
@@ -117,6 +117,16 @@ class FileSystemDeploymentService implements DeploymentScanner {
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Minimum period between full scans when the filesystem is watched for changes
+     */
+    static final long WATCH_FALLBACK_INTERVAL = 60000;
+
+    /**
+     * Delay between a change being reported by the filesystem and the scan, so bursts of changes lead to a single scan
+     */
+    static final long WATCH_SCAN_DELAY = 200;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -124,6 +134,9 @@ class FileSystemDeploymentService implements DeploymentScanner {
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
     private ScheduledFuture<?> rescanUndeployTask;
+    private ScheduledFuture<?> watchScanTask;
+    private volatile boolean watchEnabled;
+    private DeploymentDirectoryWatcher watcher;
     private final Lock scanLock = new ReentrantLock();
 
     private final Map<String, DeploymentMarker> deployed = new HashMap<String, DeploymentMarker>();
@@ -284,6 +297,20 @@ class FileSystemDeploymentService implements DeploymentScanner {
         startScan();
     }
 
+    @Override
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        if (watchEnabled != this.watchEnabled) {
+            cancelScan();
+            this.watchEnabled = watchEnabled;
+            startScan();
+        }
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -1065,10 +1092,41 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
     private synchronized void startScan() {
         if (scanEnabled) {
-            if (scanInterval > 0) {
-                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
+            long interval = scanInterval;
+            if (watchEnabled && watcher == null) {
+                try {
+                    watcher = DeploymentDirectoryWatcher.start(deploymentDir, new Runnable() {
+                        @Override
+                        public void run() {
+                            requestWatchScan();
+                        }
+                    });
+                } catch (IOException e) {
+                    ROOT_LOGGER.cannotWatchDirectory(e, deploymentDir.getAbsolutePath());
+                }
+            }
+            if (watcher != null && interval > 0) {
+                // changes are picked up as they are reported, the periodic scan just catches anything that was missed
+                interval = Math.max(interval, WATCH_FALLBACK_INTERVAL);
+            }
+            if (interval > 0) {
+                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, interval, TimeUnit.MILLISECONDS);
             } else {
-                scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
+                scanTask = scheduledExecutor.schedule(scanRunnable, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Schedules a scan in response to a change reported by the {@link DeploymentDirectoryWatcher}, unless one is
+     * already pending. A scan that has already started may have missed the change, so it does not count as pending.
+     */
+    private synchronized void requestWatchScan() {
+        if (scanEnabled && watcher != null && (watchScanTask == null || watchScanTask.getDelay(TimeUnit.MILLISECONDS) <= 0)) {
+            try {
+                watchScanTask = scheduledExecutor.schedule(scanRunnable, WATCH_SCAN_DELAY, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // the server is shutting down
             }
         }
     }
@@ -1089,6 +1147,14 @@ class FileSystemDeploymentService implements DeploymentScanner {
             scanTask.cancel(true);
             scanTask = null;
         }
+        if (watchScanTask != null) {
+            watchScanTask.cancel(true);
+            watchScanTask = null;
+        }
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
     }
 
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
@@ -54,6 +54,22 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Gets whether the scanner watches the filesystem for changes and scans as soon as one is reported. Periodic
+     * scans are then only used as a fallback.
+     *
+     * @return true if the filesystem is watched
+     */
+    boolean isWatchEnabled();
+
+    /**
+     * Sets whether the scanner watches the filesystem for changes and scans as soon as one is reported. Periodic
+     * scans are then only used as a fallback.
+     *
+     * @param watchEnabled true if the filesystem should be watched
+     */
+    void setWatchEnabled(boolean watchEnabled);
+
     /**
      * Start the scanner, if not already started, using a default {@link DeploymentOperations}.
      *
@@ -396,4 +396,14 @@ public interface DeploymentScannerLogger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 35, value = "Scan found %s which is not well-formed at lineNumber: %s, columnNumber: %s. Either the file was incompletely copied at the time of the scanning or it is just wrong.")
     void invalidXmlFileFound(String name, int lineNumber, int columnNumber);
+
+    /**
+     * Logs a warning message indicating the filesystem cannot be watched for changes.
+     *
+     * @param cause the cause of the error.
+     * @param directory the directory that cannot be watched.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 36, value = "Cannot watch %s for changes; relying on periodic scans only")
+    void cannotWatchDirectory(@Cause Throwable cause, String directory);
 }
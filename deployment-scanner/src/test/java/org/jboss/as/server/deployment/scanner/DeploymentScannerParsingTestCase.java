@@ -1,9 +1,16 @@
 package org.jboss.as.server.deployment.scanner;
 
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
 import java.io.IOException;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
 
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
 
 /**
  * @author Tomaz Cerar
@@ -12,6 +19,17 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 
 public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest {
     private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+            "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
+                   "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"60\" " +
+                    "runtime-failure-causes-rollback=\"${runtime-failure-causes-rollback:false}\"/>\n" +
+            "    <deployment-scanner path=\"deployments\"  relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"30\" watch=\"true\"/>\n" +
+            "</subsystem>";
+
+    private static final String SUBSYSTEM_XML_2_0 =
             "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.0\">\n" +
             "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
                    "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
@@ -38,5 +56,21 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
-}
 
+    /**
+     * The 2.0 namespace predates the {@code watch} attribute and must still parse as it did.
+     */
+    @Test
+    public void testParseSubsystem_2_0() throws Exception {
+        List<ModelNode> operations = parse(SUBSYSTEM_XML_2_0);
+        assertEquals(3, operations.size());
+        for (ModelNode operation : operations) {
+            assertFalse(operation.has(CommonAttributes.WATCH));
+        }
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testWatchNotAllowedIn_2_0() throws Exception {
+        parse(SUBSYSTEM_XML_2_0.replace("deployment-timeout=\"30\"", "deployment-timeout=\"30\" watch=\"true\""));
+    }
+}
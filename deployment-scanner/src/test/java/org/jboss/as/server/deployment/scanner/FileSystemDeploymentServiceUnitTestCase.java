@@ -21,6 +21,9 @@
  */
 package org.jboss.as.server.deployment.scanner;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
@@ -57,6 +60,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -181,6 +185,47 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(deployed.exists());
     }
 
+    @Test
+    public void testWatchRequestsScan() throws Exception {
+        final DiscardTaskExecutor myExecutor = new DiscardTaskExecutor();
+        TesteeSet ts = createTestee(myExecutor);
+        try {
+            ts.testee.setWatchEnabled(true);
+            assertTrue(ts.testee.isWatchEnabled());
+            myExecutor.clear();
+
+            createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+            // Some WatchService implementations poll, so allow for some delay
+            long end = System.currentTimeMillis() + 30000;
+            while (myExecutor.taskCount() == 0 && System.currentTimeMillis() < end) {
+                Thread.sleep(100);
+            }
+            assertTrue(myExecutor.taskCount() > 0);
+
+            ts.testee.setWatchEnabled(false);
+            myExecutor.clear();
+            createFile("bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+            Thread.sleep(500);
+            assertEquals(0, myExecutor.taskCount());
+        } finally {
+            ts.testee.stopScanner();
+        }
+    }
+
+    @Test
+    public void testWatchIgnoresScannerMarkers() throws Exception {
+        assertTrue(DeploymentDirectoryWatcher.requiresScan(ENTRY_CREATE, "foo.war" + FileSystemDeploymentService.DO_DEPLOY));
+        assertTrue(DeploymentDirectoryWatcher.requiresScan(ENTRY_MODIFY, "foo.war"));
+        assertFalse(DeploymentDirectoryWatcher.requiresScan(ENTRY_CREATE, "foo.war" + FileSystemDeploymentService.DEPLOYING));
+        assertFalse(DeploymentDirectoryWatcher.requiresScan(ENTRY_DELETE, "foo.war" + FileSystemDeploymentService.PENDING));
+        assertFalse(DeploymentDirectoryWatcher.requiresScan(ENTRY_CREATE, "foo.war" + FileSystemDeploymentService.DEPLOYED));
+        assertFalse(DeploymentDirectoryWatcher.requiresScan(ENTRY_MODIFY, "foo.war" + FileSystemDeploymentService.FAILED_DEPLOY));
+        assertFalse(DeploymentDirectoryWatcher.requiresScan(ENTRY_CREATE, "foo.war" + FileSystemDeploymentService.UNDEPLOYED));
+        // deleting the .deployed marker is how a user undeploys
+        assertTrue(DeploymentDirectoryWatcher.requiresScan(ENTRY_DELETE, "foo.war" + FileSystemDeploymentService.DEPLOYED));
+        assertTrue(DeploymentDirectoryWatcher.requiresScan(ENTRY_DELETE, "foo.war" + FileSystemDeploymentService.FAILED_DEPLOY));
+    }
+
     @Test
     public void testBasicXmlDeploy() throws Exception {
         File xml = createXmlFile("foo.xml", "<rootElement/>");
@@ -2250,7 +2295,7 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     private static class DiscardTaskExecutor extends ScheduledThreadPoolExecutor {
 
-        private final List<Runnable> tasks = new ArrayList<Runnable>();
+        private final List<Runnable> tasks = Collections.synchronizedList(new ArrayList<Runnable>());
         private final boolean allowRejection;
         private DiscardTaskExecutor() {
             this(false);
@@ -2278,6 +2323,10 @@ public class FileSystemDeploymentServiceUnitTestCase {
         void clear() {
             tasks.clear();
         }
+
+        int taskCount() {
+            return tasks.size();
+        }
     }
 
     private static class CallOnGetFuture<T> implements AsyncFuture<T> {
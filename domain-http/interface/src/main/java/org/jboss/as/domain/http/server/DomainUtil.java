@@ -28,6 +28,9 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
@@ -48,6 +51,8 @@ import org.xnio.IoUtils;
  */
 public class DomainUtil {
 
+    private static final int BUFFER_SIZE = 8192;
+
     public static void writeResponse(final HttpServerExchange exchange, final int status, ModelNode response,
             OperationParameter operationParameter) {
 
@@ -65,9 +70,14 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (exchange.isInIoThread()) {
+                // Must not block the IO thread, these are only the small responses sent before dispatching
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                writeResponseBody(exchange, response, operationParameter);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -168,6 +178,31 @@ public class DomainUtil {
         }
     }
 
+    /**
+     * Stream the response straight to the exchange instead of rendering it in memory first, so the memory needed
+     * depends on how deeply the response is nested rather than on its size. As no Content-Length is known up front
+     * the response is sent chunked; any content encoding negotiated with the client is applied as the data is written.
+     */
+    private static void writeResponseBody(final HttpServerExchange exchange, final ModelNode modelNode,
+                                          final OperationParameter operationParameter) throws IOException {
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
+        final OutputStream out = new BufferedOutputStream(exchange.getOutputStream(), BUFFER_SIZE);
+        try {
+            if (operationParameter.isEncode()) {
+                modelNode.writeBase64(out);
+                out.flush();
+            } else {
+                final PrintWriter print = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                modelNode.writeJSONString(print, !operationParameter.isPretty());
+                print.flush();
+            }
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
     public static void writeCacheHeaders(final HttpServerExchange exchange, final int status, final OperationParameter operationParameter) {
         final HeaderMap responseHeaders = exchange.getResponseHeaders();
 
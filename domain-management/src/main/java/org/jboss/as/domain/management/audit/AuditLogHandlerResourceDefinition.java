@@ -114,7 +114,7 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
                 new HandlerRecycleHandler(auditLogger));
     }
 
-    private static class HandlerRuntimeAttributeHandler extends AbstractRuntimeOnlyHandler {
+    static class HandlerRuntimeAttributeHandler extends AbstractRuntimeOnlyHandler {
         private final ManagedAuditLogger auditLogger;
 
         public HandlerRuntimeAttributeHandler(ManagedAuditLogger auditLogger) {
@@ -129,6 +129,8 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
                 context.getResult().set(auditLogger.getHandlerFailureCount(handlerName));
             } else if (attr.equals(DISABLED_DUE_TO_FAILURE.getName())) {
                 context.getResult().set(auditLogger.getHandlerDisabledDueToFailure(handlerName));
+            } else if (attr.equals(FileAuditLogHandlerResourceDefinition.DISCARDED_COUNT.getName())) {
+                context.getResult().set(auditLogger.getHandlerDiscardedCount(handlerName));
             }
         }
     }
@@ -37,9 +37,13 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.audit.AbstractFileAuditLogHandler;
 import org.jboss.as.controller.audit.FileAuditLogHandler;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManagerService;
@@ -67,7 +71,40 @@ public class FileAuditLogHandlerResourceDefinition extends AuditLogHandlerResour
         .setMinSize(1)
         .build();
 
-    protected static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{FORMATTER, PATH, RELATIVE_TO, MAX_FAILURE_COUNT};
+    public static final SimpleAttributeDefinition ASYNC = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.ASYNC, ModelType.BOOLEAN)
+        .setAllowNull(true)
+        .setAllowExpression(true)
+        .setDefaultValue(new ModelNode(false))
+        .build();
+
+    public static final SimpleAttributeDefinition QUEUE_LENGTH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_LENGTH, ModelType.INT)
+        .setAllowNull(true)
+        .setAllowExpression(true)
+        .setDefaultValue(new ModelNode(1024))
+        .setValidator(new IntRangeValidator(1, true, true))
+        .build();
+
+    public static final SimpleAttributeDefinition OVERFLOW_ACTION = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.OVERFLOW_ACTION, ModelType.STRING)
+        .setAllowNull(true)
+        .setAllowExpression(true)
+        .setValidator(new EnumValidator<AbstractFileAuditLogHandler.OverflowAction>(AbstractFileAuditLogHandler.OverflowAction.class, true, true))
+        .setDefaultValue(new ModelNode(AbstractFileAuditLogHandler.OverflowAction.BLOCK.name()))
+        .build();
+
+    public static final SimpleAttributeDefinition SYNC_INTERVAL = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.SYNC_INTERVAL, ModelType.LONG)
+        .setAllowNull(true)
+        .setAllowExpression(true)
+        .setDefaultValue(new ModelNode(0L))
+        .setValidator(new LongRangeValidator(-1, Long.MAX_VALUE, true, true))
+        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+        .build();
+
+    public static final SimpleAttributeDefinition DISCARDED_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.DISCARDED_COUNT, ModelType.LONG)
+        .setAllowNull(false)
+        .setStorageRuntime()
+        .build();
+
+    protected static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{FORMATTER, PATH, RELATIVE_TO, MAX_FAILURE_COUNT, ASYNC, QUEUE_LENGTH, OVERFLOW_ACTION, SYNC_INTERVAL};
 
 
     public FileAuditLogHandlerResourceDefinition(ManagedAuditLogger auditLogger, PathManagerService pathManager) {
@@ -99,6 +136,7 @@ public class FileAuditLogHandlerResourceDefinition extends AuditLogHandlerResour
         for (AttributeDefinition def : ATTRIBUTES){
             resourceRegistration.registerReadWriteAttribute(def, null, write);
         }
+        resourceRegistration.registerReadOnlyAttribute(DISCARDED_COUNT, new HandlerRuntimeAttributeHandler(auditLogger));
     }
 
     protected HandlerWriteAttributeHandler getWriteAttributeHandler(ManagedAuditLogger auditLogger, PathManagerService pathManager, AttributeDefinition... attributeDefinitions) {
@@ -113,7 +151,17 @@ public class FileAuditLogHandlerResourceDefinition extends AuditLogHandlerResour
         final String path = PATH.resolveModelAttribute(context, model).asString();
         final String formatterName = FORMATTER.resolveModelAttribute(context, model).asString();
         final int maxFailureCount = MAX_FAILURE_COUNT.resolveModelAttribute(context, model).asInt();
-        return new FileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo);
+        final FileAuditLogHandler handler = new FileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo);
+        configureWriter(handler, context, model);
+        return handler;
+    }
+
+    static void configureWriter(final AbstractFileAuditLogHandler handler, final OperationContext context, final ModelNode model) throws OperationFailedException {
+        if (ASYNC.resolveModelAttribute(context, model).asBoolean()) {
+            handler.setAsync(QUEUE_LENGTH.resolveModelAttribute(context, model).asInt(),
+                    AbstractFileAuditLogHandler.OverflowAction.valueOf(OVERFLOW_ACTION.resolveModelAttribute(context, model).asString()));
+        }
+        handler.setSyncInterval(SYNC_INTERVAL.resolveModelAttribute(context, model).asLong());
     }
 
     protected static class FileAuditLogHandlerAddHandler extends AbstractAddStepHandler {
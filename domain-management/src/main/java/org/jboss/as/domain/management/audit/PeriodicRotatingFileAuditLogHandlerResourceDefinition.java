@@ -98,7 +98,9 @@ public class PeriodicRotatingFileAuditLogHandlerResourceDefinition extends FileA
         final String formatterName = FORMATTER.resolveModelAttribute(context, model).asString();
         final int maxFailureCount = MAX_FAILURE_COUNT.resolveModelAttribute(context, model).asInt();
         final String suffix = SUFFIX.resolveModelAttribute(context, model).asString();
-        return new PeriodicRotatingFileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo, suffix, /*default timeZone*/null);
+        final PeriodicRotatingFileAuditLogHandler handler = new PeriodicRotatingFileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo, suffix, /*default timeZone*/null);
+        configureWriter(handler, context, model);
+        return handler;
     }
 
     protected static class PeriodicRotatingFileAuditLogHandlerAddHandler extends FileAuditLogHandlerAddHandler {
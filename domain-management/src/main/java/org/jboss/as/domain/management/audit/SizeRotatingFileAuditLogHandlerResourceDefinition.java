@@ -109,7 +109,9 @@ public class SizeRotatingFileAuditLogHandlerResourceDefinition extends FileAudit
         final int maxFailureCount = MAX_FAILURE_COUNT.resolveModelAttribute(context, model).asInt();
         final long rotateSize = SizeValidator.parseSize(ROTATE_SIZE.resolveModelAttribute(context, model));
         final int maxBackupIndex = MAX_BACKUP_INDEX.resolveModelAttribute(context, model).asInt();
-        return new SizeRotatingFileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo, rotateSize, maxBackupIndex);
+        final SizeRotatingFileAuditLogHandler handler = new SizeRotatingFileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo, rotateSize, maxBackupIndex);
+        configureWriter(handler, context, model);
+        return handler;
     }
 
     protected static class SizeRotatingFileAuditLogHandlerAddHandler extends FileAuditLogHandlerAddHandler {
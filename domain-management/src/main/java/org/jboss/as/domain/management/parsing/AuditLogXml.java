@@ -291,6 +291,16 @@ public class AuditLogXml {
                     FileAuditLogHandlerResourceDefinition.RELATIVE_TO.parseAndSetParameter(value, add, reader);
                     break;
                 }
+                case ASYNC:
+                case OVERFLOW_ACTION:
+                case QUEUE_LENGTH:
+                case SYNC_INTERVAL: {
+                    if (expectedNs.getMajorVersion() < 3) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    parseFileAuditLogHandlerWriterAttribute(reader, i, attribute, value, add);
+                    break;
+                }
                 default: {
                     throw unexpectedAttribute(reader, i);
                 }
@@ -332,6 +342,12 @@ public class AuditLogXml {
                 case MAX_BACKUP_INDEX:
                     SizeRotatingFileAuditLogHandlerResourceDefinition.MAX_BACKUP_INDEX.parseAndSetParameter(value, add, reader);
                     break;
+                case ASYNC:
+                case OVERFLOW_ACTION:
+                case QUEUE_LENGTH:
+                case SYNC_INTERVAL:
+                    parseFileAuditLogHandlerWriterAttribute(reader, i, attribute, value, add);
+                    break;
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -369,6 +385,12 @@ public class AuditLogXml {
                 case SUFFIX:
                     PeriodicRotatingFileAuditLogHandlerResourceDefinition.SUFFIX.parseAndSetParameter(value, add, reader);
                     break;
+                case ASYNC:
+                case OVERFLOW_ACTION:
+                case QUEUE_LENGTH:
+                case SYNC_INTERVAL:
+                    parseFileAuditLogHandlerWriterAttribute(reader, i, attribute, value, add);
+                    break;
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -377,6 +399,25 @@ public class AuditLogXml {
         requireNoContent(reader);
     }
 
+    private void parseFileAuditLogHandlerWriterAttribute(final XMLExtendedStreamReader reader, final int index, final Attribute attribute, final String value, final ModelNode add) throws XMLStreamException {
+        switch (attribute) {
+            case ASYNC:
+                FileAuditLogHandlerResourceDefinition.ASYNC.parseAndSetParameter(value, add, reader);
+                break;
+            case OVERFLOW_ACTION:
+                FileAuditLogHandlerResourceDefinition.OVERFLOW_ACTION.parseAndSetParameter(value, add, reader);
+                break;
+            case QUEUE_LENGTH:
+                FileAuditLogHandlerResourceDefinition.QUEUE_LENGTH.parseAndSetParameter(value, add, reader);
+                break;
+            case SYNC_INTERVAL:
+                FileAuditLogHandlerResourceDefinition.SYNC_INTERVAL.parseAndSetParameter(value, add, reader);
+                break;
+            default:
+                throw unexpectedAttribute(reader, index);
+        }
+    }
+
     private void parseSyslogAuditLogHandlerAttributes1_5(final XMLExtendedStreamReader reader, final ModelNode address, final ModelNode addOp) throws XMLStreamException {
         final int count = reader.getAttributeCount();
         for (int i = 0; i < count; i++) {
@@ -816,6 +857,7 @@ public class AuditLogXml {
                     FileAuditLogHandlerResourceDefinition.MAX_FAILURE_COUNT.marshallAsAttribute(handler, writer);
                     FileAuditLogHandlerResourceDefinition.PATH.marshallAsAttribute(handler, writer);
                     FileAuditLogHandlerResourceDefinition.RELATIVE_TO.marshallAsAttribute(handler, writer);
+                    writeFileAuditLogHandlerWriterAttributes(writer, handler);
                     writer.writeEndElement();
                 }
             }
@@ -829,6 +871,7 @@ public class AuditLogXml {
                     PeriodicRotatingFileAuditLogHandlerResourceDefinition.PATH.marshallAsAttribute(handler, writer);
                     PeriodicRotatingFileAuditLogHandlerResourceDefinition.RELATIVE_TO.marshallAsAttribute(handler, writer);
                     PeriodicRotatingFileAuditLogHandlerResourceDefinition.SUFFIX.marshallAsAttribute(handler, writer);
+                    writeFileAuditLogHandlerWriterAttributes(writer, handler);
                     writer.writeEndElement();
                 }
             }
@@ -843,6 +886,7 @@ public class AuditLogXml {
                     SizeRotatingFileAuditLogHandlerResourceDefinition.RELATIVE_TO.marshallAsAttribute(handler, writer);
                     SizeRotatingFileAuditLogHandlerResourceDefinition.ROTATE_SIZE.marshallAsAttribute(handler, writer);
                     SizeRotatingFileAuditLogHandlerResourceDefinition.MAX_BACKUP_INDEX.marshallAsAttribute(handler, writer);
+                    writeFileAuditLogHandlerWriterAttributes(writer, handler);
                     writer.writeEndElement();
                 }
             }
@@ -871,6 +915,13 @@ public class AuditLogXml {
         writer.writeEndElement();
     }
 
+    private void writeFileAuditLogHandlerWriterAttributes(XMLExtendedStreamWriter writer, ModelNode handler) throws XMLStreamException {
+        FileAuditLogHandlerResourceDefinition.ASYNC.marshallAsAttribute(handler, writer);
+        FileAuditLogHandlerResourceDefinition.QUEUE_LENGTH.marshallAsAttribute(handler, writer);
+        FileAuditLogHandlerResourceDefinition.OVERFLOW_ACTION.marshallAsAttribute(handler, writer);
+        FileAuditLogHandlerResourceDefinition.SYNC_INTERVAL.marshallAsAttribute(handler, writer);
+    }
+
     private void writeAuditLogger(XMLExtendedStreamWriter writer, ModelNode auditLog, String element) throws XMLStreamException {
         if (auditLog.hasDefined(element) && auditLog.get(element).hasDefined(ModelDescriptionConstants.AUDIT_LOG)){
             ModelNode config = auditLog.get(element, ModelDescriptionConstants.AUDIT_LOG);
@@ -206,6 +206,43 @@ public class AuditLogSizeRotatingFileHandlerTestCase extends AbstractAuditLogHan
         executeForResult(op);
     }
 
+    @Test
+    public void testAsyncRotation() throws Exception {
+        final String handlerName = "test-size-rotating-file";
+        File file = new File(logDir, LOG_FILE_NAME);
+
+        // rotating at 1 byte, so before each record but the first
+        ModelNode op = createAddSizeRotatingFileHandlerOperation(handlerName, "test-formatter", LOG_FILE_NAME, "1", 2);
+        op.get(SizeRotatingFileAuditLogHandlerResourceDefinition.ASYNC.getName()).set(true);
+        op.get(SizeRotatingFileAuditLogHandlerResourceDefinition.QUEUE_LENGTH.getName()).set(16);
+        executeForResult(op);
+        op = createAddHandlerReferenceOperation(handlerName);
+        executeForResult(op);
+        for (int i = 0; i < 2; i++) {
+            op = Util.getWriteAttributeOperation(createSizeRotatingFileHandlerAddress(handlerName),
+                    SizeRotatingFileAuditLogHandlerResourceDefinition.MAX_FAILURE_COUNT.getName(), new ModelNode(10 + i));
+            executeForResult(op);
+        }
+
+        // removing the last reference stops the handler, which writes out all queued records
+        op = createRemoveHandlerReferenceOperation(handlerName);
+        executeForResult(op);
+        // the log file + 2 backups
+        Assert.assertEquals(3, logDir.listFiles(createLogFilenameFilter(LOG_FILE_NAME_PREFIX)).length);
+        List<ModelNode> records = readFile(file, 1);
+        List<ModelNode> ops = checkBootRecordHeader(records.get(0), 1, "core", false, false, true);
+        checkOpsEqual(op, ops.get(0));
+        readFile(new File(logDir, LOG_FILE_NAME + ".1"), 1);
+        readFile(new File(logDir, LOG_FILE_NAME + ".2"), 1);
+
+        ModelNode handler = executeForResult(Util.getReadAttributeOperation(createSizeRotatingFileHandlerAddress(handlerName),
+                SizeRotatingFileAuditLogHandlerResourceDefinition.DISCARDED_COUNT.getName()));
+        Assert.assertEquals(0, handler.asLong());
+
+        op = createRemoveSizeRotatingFileHandlerOperation(handlerName);
+        executeForResult(op);
+    }
+
     @Test
     public void testUpdateFileHandlerFormatter() throws Exception {
         final String rotatingHandlerName = "test-size-rotating-file";
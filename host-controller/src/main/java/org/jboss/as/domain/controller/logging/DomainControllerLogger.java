@@ -730,4 +730,18 @@ public interface DomainControllerLogger extends BasicLogger {
      */
     @Message(id = 74, value = "Operation failed or was rolled back on all servers. Server failures:")
     String operationFailedOrRolledBackWithCause();
+
+    @LogMessage(level = WARN)
+    @Message(id = 75, value = "Timed out after %d ms awaiting host prepared response(s) -- cancelling updates for hosts %s")
+    void timedOutAwaitingHostPreparedResponse(long timeout, Set<String> hosts);
+
+    @Message(id = 76, value = "Timed out after %d ms awaiting the prepared result from host %s")
+    String timedOutAwaitingPreparedResultFromHost(long timeout, String hostName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 77, value = "%s timed out after %d ms awaiting server prepared response(s) -- cancelling updates for servers %s")
+    void timedOutAwaitingServerPreparedResponse(String callerClass, long timeout, Set<ServerIdentity> servers);
+
+    @Message(id = 78, value = "Timed out after %d ms awaiting the prepared result from server %s")
+    String timedOutAwaitingPreparedResultFromServer(long timeout, ServerIdentity server);
 }
@@ -146,8 +146,17 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         final Set<String> relevantDeployments = new HashSet<String>();
         final Set<ContentReference> requiredContent = new HashSet<ContentReference>();
 
+        // Root resources the master did not send again since we already have them
+        final Set<PathElement> unchangedRootResources = new HashSet<PathElement>();
+        for (final ModelNode resourceDescription : domainModel.asList()) {
+            if (resourceDescription.hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_UNCHANGED)
+                    && resourceDescription.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_UNCHANGED).asBoolean()) {
+                unchangedRootResources.add(PathAddress.pathAddress(resourceDescription.require(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS)).getElement(0));
+            }
+        }
+
         final Resource rootResource = context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS);
-        clearDomain(rootResource);
+        clearDomain(rootResource, unchangedRootResources);
         if (!context.isBooting()) {
             authorizerConfiguration.reset();
         }
@@ -161,6 +170,10 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
                 continue;
             }
 
+            if (resourceAddress.size() > 0 && unchangedRootResources.contains(resourceAddress.getElement(0))) {
+                continue;
+            }
+
             if (resourceAddress.size() == 1 && resourceAddress.getElement(0).getKey().equals(EXTENSION)) {
                 // Extensions are handled in ApplyExtensionsHandler
                 continue;
@@ -250,29 +263,15 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         }
     }
 
-    private void clearDomain(final Resource rootResource) {
+    private void clearDomain(final Resource rootResource, final Set<PathElement> unchangedRootResources) {
         // Extensions are handled in ApplyExtensionsHandler
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.PATH)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.SYSTEM_PROPERTY)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.PROFILE)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.INTERFACE)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.SOCKET_BINDING_GROUP)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.DEPLOYMENT)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
-        for(Resource.ResourceEntry entry : rootResource.getChildren(ModelDescriptionConstants.SERVER_GROUP)) {
-            rootResource.removeChild(entry.getPathElement());
-        }
+        clearChildren(rootResource, ModelDescriptionConstants.PATH, unchangedRootResources);
+        clearChildren(rootResource, ModelDescriptionConstants.SYSTEM_PROPERTY, unchangedRootResources);
+        clearChildren(rootResource, ModelDescriptionConstants.PROFILE, unchangedRootResources);
+        clearChildren(rootResource, ModelDescriptionConstants.INTERFACE, unchangedRootResources);
+        clearChildren(rootResource, ModelDescriptionConstants.SOCKET_BINDING_GROUP, unchangedRootResources);
+        clearChildren(rootResource, ModelDescriptionConstants.DEPLOYMENT, unchangedRootResources);
+        clearChildren(rootResource, ModelDescriptionConstants.SERVER_GROUP, unchangedRootResources);
         // Prune parts of the RBAC tree
         Resource accessControl = rootResource.navigate(
                 PathAddress.pathAddress(CoreManagementResourceDefinition.PATH_ELEMENT, AccessAuthorizationResourceDefinition.PATH_ELEMENT));
@@ -288,6 +287,14 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         }
     }
 
+    private static void clearChildren(final Resource rootResource, final String type, final Set<PathElement> unchangedRootResources) {
+        for(Resource.ResourceEntry entry : rootResource.getChildren(type)) {
+            if (!unchangedRootResources.contains(entry.getPathElement())) {
+                rootResource.removeChild(entry.getPathElement());
+            }
+        }
+    }
+
     protected Resource getResource(PathAddress resourceAddress, Resource rootResource, ModelNode resourceModel,
                                    OperationContext context, List<ModelNode> addOps) {
         if(resourceAddress.size() == 0) {
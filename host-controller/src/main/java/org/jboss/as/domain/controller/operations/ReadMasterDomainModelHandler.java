@@ -22,13 +22,18 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.Map;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.mgmt.DomainControllerRuntimeIgnoreTransformationRegistry;
+import org.jboss.as.host.controller.mgmt.TransformedDomainModelCache;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -46,11 +51,27 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     protected final String host;
     protected final Transformers transformers;
     protected final DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry;
+    private final Map<PathElement, byte[]> knownHashes;
+    private final TransformedDomainModelCache.Slot cacheSlot;
 
     public ReadMasterDomainModelHandler(final String host, final Transformers transformers, DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry) {
+        this(host, transformers, runtimeIgnoreTransformationRegistry, null, null);
+    }
+
+    /**
+     * Creates a handler which leaves out the root resources the slave already has, and which shares the transformed
+     * model with other slaves with the same versions.
+     *
+     * @param knownHashes the hashes of the root resources reported by the slave, or {@code null} to describe the whole model
+     * @param cacheSlot where to find and store the transformed model, or {@code null} to always transform the model
+     */
+    public ReadMasterDomainModelHandler(final String host, final Transformers transformers, DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry,
+                                        final Map<PathElement, byte[]> knownHashes, final TransformedDomainModelCache.Slot cacheSlot) {
         this.host = host;
         this.transformers = transformers;
         this.runtimeIgnoreTransformationRegistry = runtimeIgnoreTransformationRegistry;
+        this.knownHashes = knownHashes;
+        this.cacheSlot = cacheSlot;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -58,8 +79,12 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         context.acquireControllerLock();
 
         final Resource rootResource = context.readResource(PathAddress.EMPTY_ADDRESS,true);
-        final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(context, transformers, rootResource, runtimeIgnoreTransformationRegistry);
+        final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(context, transformers, rootResource, runtimeIgnoreTransformationRegistry, knownHashes, cacheSlot);
         context.getResult().set(readUtil.getDescribedResources());
+        if (HostControllerLogger.ROOT_LOGGER.isDebugEnabled()) {
+            HostControllerLogger.ROOT_LOGGER.debugf("Sending %d domain model resources to host %s (%s)", readUtil.getDescribedResources().size(), host,
+                    knownHashes == null ? "full" : "delta against " + knownHashes.size() + " known root resources");
+        }
 
         context.completeStep(new OperationContext.ResultHandler() {
             @Override
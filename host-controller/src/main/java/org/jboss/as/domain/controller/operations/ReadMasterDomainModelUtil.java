@@ -21,11 +21,24 @@
  */
 package org.jboss.as.domain.controller.operations;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.jboss.as.controller.OperationContext;
@@ -37,6 +50,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.mgmt.DomainControllerRuntimeIgnoreTransformationRegistry;
+import org.jboss.as.host.controller.mgmt.TransformedDomainModelCache;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -51,6 +65,29 @@ public class ReadMasterDomainModelUtil {
 
     public static final String DOMAIN_RESOURCE_MODEL = "domain-resource-model";
 
+    /**
+     * Hash of the described subtree of a root resource, sent along with the root resource description.
+     */
+    public static final String DOMAIN_RESOURCE_HASH = "domain-resource-hash";
+
+    /**
+     * Marks a root resource whose subtree is the same as the one the slave reported, and which therefore was not described.
+     */
+    public static final String DOMAIN_RESOURCE_UNCHANGED = "domain-resource-unchanged";
+
+    /**
+     * Key in the host info under which a slave reports the hashes of the root resources it already has.
+     */
+    public static final String DOMAIN_MODEL_HASHES = "domain-model-hashes";
+
+    /**
+     * The root resource types which can be left out of the initial connect description if the slave already has them.
+     * Deployments, management client content and the core services are always sent since applying them on the slave has
+     * side effects (fetching content, resetting the access control configuration).
+     */
+    private static final Set<String> DELTA_ROOT_TYPES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(PATH, SYSTEM_PROPERTY, PROFILE, INTERFACE, SOCKET_BINDING_GROUP)));
+
     private final Set<PathElement> newRootResources = new HashSet<>();
 
     private volatile List<ModelNode> describedResources;
@@ -66,15 +103,34 @@ public class ReadMasterDomainModelUtil {
      *  @param transformers the transformers for the host
      *  @param domainRoot the domain root resource
      *  @param runtimeIgnoreTransformationRegistry the domain controller registry of what resources should be ignored for the slave host
+     *  @param knownHashes the hashes of the root resources the slave already has, or {@code null} if the slave does not report them
+     *  @param cacheSlot where to find and store the transformed model shared with other slaves, or {@code null} if it is not shared
      *  @return a read master domain model util instance
      */
     static ReadMasterDomainModelUtil readMasterDomainResourcesForInitialConnect(
             final OperationContext context, final Transformers transformers, final Resource domainRoot,
-            final DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry) throws OperationFailedException {
+            final DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry,
+            final Map<PathElement, byte[]> knownHashes, final TransformedDomainModelCache.Slot cacheSlot) throws OperationFailedException {
 
-        Resource transformedResource = transformers.transformRootResource(context, domainRoot);
         ReadMasterDomainModelUtil util = new ReadMasterDomainModelUtil();
-        util.describedResources = util.describeAsNodeList(PathAddress.EMPTY_ADDRESS, transformedResource, false);
+        List<ModelNode> described;
+        if (cacheSlot == null) {
+            Resource transformedResource = transformers.transformRootResource(context, domainRoot);
+            described = util.describeAsNodeList(PathAddress.EMPTY_ADDRESS, transformedResource, false);
+        } else {
+            final byte[] domainModelHash = hashDomainModel(domainRoot);
+            final TransformedDomainModelCache.Entry cached = cacheSlot.get(domainModelHash);
+            if (cached != null) {
+                HostControllerLogger.ROOT_LOGGER.debugf("Reusing the transformed domain model of a slave with the same versions");
+                described = cached.getDescribedResources();
+                util.newRootResources.addAll(cached.getNewRootResources());
+            } else {
+                Resource transformedResource = transformers.transformRootResource(context, domainRoot);
+                described = util.describeAsNodeList(PathAddress.EMPTY_ADDRESS, transformedResource, false);
+                cacheSlot.put(domainModelHash, described, util.newRootResources);
+            }
+        }
+        util.describedResources = knownHashes == null ? described : removeKnownResources(described, knownHashes);
         return util;
     }
 
@@ -150,6 +206,126 @@ public class ReadMasterDomainModelUtil {
         return util;
     }
 
+    /**
+     * Calculates the hash of the description of a root resource and its children, as sent to the slave.
+     *
+     * @param descriptions the descriptions of the root resource and its children
+     * @return the hash
+     */
+    public static byte[] hashDescribedResources(final List<ModelNode> descriptions) {
+        final MessageDigest digest = createDigest();
+        for (ModelNode description : descriptions) {
+            update(digest, description);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Calculates the hash of the model of a resource and its children.
+     *
+     * @param resource the resource
+     * @return the hash
+     */
+    public static byte[] hashResource(final Resource resource) {
+        final MessageDigest digest = createDigest();
+        update(digest, Resource.Tools.readModel(resource));
+        return digest.digest();
+    }
+
+    /**
+     * Calculates the hash of the parts of the domain model which are described to the slaves.
+     */
+    private static byte[] hashDomainModel(final Resource domainRoot) {
+        final MessageDigest digest = createDigest();
+        hashDomainModel(digest, PathAddress.EMPTY_ADDRESS, domainRoot);
+        return digest.digest();
+    }
+
+    private static void hashDomainModel(final MessageDigest digest, final PathAddress address, final Resource resource) {
+        if (resource.isProxy() || resource.isRuntime()) {
+            return;
+        } else if (address.size() >= 1 && address.getElement(0).getKey().equals(ModelDescriptionConstants.HOST)) {
+            return;
+        }
+        update(digest, address.toModelNode());
+        update(digest, resource.getModel());
+        for (final String childType : resource.getChildTypes()) {
+            for (final Resource.ResourceEntry entry : resource.getChildren(childType)) {
+                hashDomainModel(digest, address.append(entry.getPathElement()), entry);
+            }
+        }
+    }
+
+    /**
+     * Gets whether the subtree of a root resource of the given type can be left out of the initial connect
+     * description if the slave already has it.
+     *
+     * @param type the type of the root resource
+     * @return {@code true} if the root resource is only sent when changed
+     */
+    public static boolean isDeltaRootType(final String type) {
+        return DELTA_ROOT_TYPES.contains(type);
+    }
+
+    /**
+     * Replaces the descriptions of the root resources the slave already has with a single entry marking them as
+     * unchanged, and adds the hash to the description of the other root resources.
+     */
+    private static List<ModelNode> removeKnownResources(final List<ModelNode> described, final Map<PathElement, byte[]> knownHashes) {
+        final List<ModelNode> result = new ArrayList<ModelNode>();
+        final Map<PathElement, List<ModelNode>> roots = new LinkedHashMap<PathElement, List<ModelNode>>();
+        for (ModelNode description : described) {
+            PathAddress address = PathAddress.pathAddress(description.get(DOMAIN_RESOURCE_ADDRESS));
+            if (address.size() == 0 || !isDeltaRootType(address.getElement(0).getKey())) {
+                result.add(description);
+            } else {
+                PathElement element = address.getElement(0);
+                List<ModelNode> subtree = roots.get(element);
+                if (subtree == null) {
+                    subtree = new ArrayList<ModelNode>();
+                    roots.put(element, subtree);
+                }
+                subtree.add(description);
+            }
+        }
+        for (Map.Entry<PathElement, List<ModelNode>> entry : roots.entrySet()) {
+            final List<ModelNode> subtree = entry.getValue();
+            final byte[] hash = hashDescribedResources(subtree);
+            if (Arrays.equals(hash, knownHashes.get(entry.getKey()))) {
+                final ModelNode unchanged = new ModelNode();
+                unchanged.get(DOMAIN_RESOURCE_ADDRESS).set(PathAddress.pathAddress(entry.getKey()).toModelNode());
+                unchanged.get(DOMAIN_RESOURCE_UNCHANGED).set(true);
+                unchanged.get(DOMAIN_RESOURCE_HASH).set(hash);
+                result.add(unchanged);
+            } else {
+                // describe() adds the root resource before its children. The descriptions may be shared with
+                // other slaves, so add the hash to a copy
+                final ModelNode root = subtree.get(0).clone();
+                root.get(DOMAIN_RESOURCE_HASH).set(hash);
+                result.add(root);
+                result.addAll(subtree.subList(1, subtree.size()));
+            }
+        }
+        return result;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final ModelNode node) {
+        try {
+            node.writeExternal(new DataOutputStream(new HashingOutputStream(digest)));
+        } catch (IOException e) {
+            // Not thrown when writing to a digest
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Gets a list of the resources for the slave's ApplyXXXXHandlers. Although the format might appear
      * similar as the operations generated at boot-time this description is only useful
@@ -206,4 +382,22 @@ public class ReadMasterDomainModelUtil {
             }
         }
     }
+
+    private static class HashingOutputStream extends OutputStream {
+        private final MessageDigest digest;
+
+        private HashingOutputStream(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+        }
+    }
 }
@@ -30,6 +30,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAI
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST_FAILURE_DESCRIPTIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS_PER_HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -56,6 +58,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.CompositeOperationHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -148,7 +151,7 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
             final List<ServerTaskExecutor.ServerPreparedResponse> preparedResults = new ArrayList<ServerTaskExecutor.ServerPreparedResponse>();
             boolean completeStepCalled = false;
             try {
-                pushToServers(context, submittedTasks, preparedResults);
+                pushToServers(context, operation, submittedTasks, preparedResults);
                 context.completeStep(new OperationContext.ResultHandler() {
                     @Override
                     public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
@@ -272,7 +275,7 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
         return OperationResponse.Factory.createSimple(cancelled);
     }
 
-    private void pushToServers(final OperationContext context, final Map<ServerIdentity,ServerTaskExecutor.ExecutedServerRequest> submittedTasks,
+    private void pushToServers(final OperationContext context, final ModelNode operation, final Map<ServerIdentity,ServerTaskExecutor.ExecutedServerRequest> submittedTasks,
                                final List<ServerTaskExecutor.ServerPreparedResponse> preparedResults) throws OperationFailedException {
 
         final String localHostName = multiphaseContext.getLocalHostInfo().getLocalHostName();
@@ -319,7 +322,9 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                     return executeOperation(listener, client, server, transformedOperation, resultTransformer);
                 }
             };
-            RolloutPlanController rolloutPlanController = new RolloutPlanController(opsByGroup, rolloutPlan, multiphaseContext, taskExecutor, executorService);
+            // Give each server its blocking timeout to prepare before it is cancelled and treated as failed
+            final long prepareTimeout = BlockingTimeout.forOperation(operation).getDomainBlockingTimeout();
+            RolloutPlanController rolloutPlanController = new RolloutPlanController(opsByGroup, rolloutPlan, multiphaseContext, taskExecutor, executorService, prepareTimeout);
             RolloutPlanController.Result planResult = rolloutPlanController.execute();
             if (trace) {
                 HOST_CONTROLLER_LOGGER.tracef("Rollout plan result is %s", planResult);
@@ -432,6 +437,18 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                 throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLess(prop.getName(), MAX_FAILED_SERVERS, max));
             }
         }
+        if (plan.hasDefined(MAX_CONCURRENT_SERVERS)) {
+            int max = plan.get(MAX_CONCURRENT_SERVERS).asInt();
+            if (max < 0) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLess(prop.getName(), MAX_CONCURRENT_SERVERS, max));
+            }
+        }
+        if (plan.hasDefined(MAX_CONCURRENT_SERVERS_PER_HOST)) {
+            int max = plan.get(MAX_CONCURRENT_SERVERS_PER_HOST).asInt();
+            if (max < 0) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLess(prop.getName(), MAX_CONCURRENT_SERVERS_PER_HOST, max));
+            }
+        }
     }
 
     private ModelNode getDefaultRolloutPlan(Map<String, Map<ServerIdentity, ModelNode>> opsByGroup) {
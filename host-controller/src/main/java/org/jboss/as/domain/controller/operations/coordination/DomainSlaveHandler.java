@@ -35,11 +35,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.CurrentOperationIdHolder;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -87,6 +89,8 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
         final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
         final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
+        // Give each host its blocking timeout to prepare before it is cancelled and treated as failed
+        final long timeout = BlockingTimeout.forOperation(operation).getDomainBlockingTimeout();
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
             // Create the proxy task
             final String host = entry.getKey();
@@ -115,33 +119,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
         boolean completeStepCalled = false;
         try {
             try {
-                while(outstanding.size() > 0) {
-                    final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared = listener.retrievePreparedOperation();
-                    final String hostName = prepared.getOperation().getName();
-                    if(! outstanding.remove(hostName)) {
-                        continue;
-                    }
-                    final ModelNode preparedResult = prepared.getPreparedResult();
-                    HOST_CONTROLLER_LOGGER.tracef("Preliminary result for remote host %s is %s", hostName, preparedResult);
-                    // See if we have to reject the result
-                    final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
-                    boolean reject = request.rejectOperation(preparedResult);
-                    if(reject) {
-                        if (HOST_CONTROLLER_LOGGER.isDebugEnabled()) {
-                            HOST_CONTROLLER_LOGGER.debugf("Rejecting result for remote host %s is %s", hostName, preparedResult);
-                        }
-                        final ModelNode failedResult = new ModelNode();
-                        failedResult.get(OUTCOME).set(FAILED);
-                        failedResult.get(FAILURE_DESCRIPTION).set(request.getFailureDescription());
-
-                        // Record the failed result
-                        multiphaseContext.addHostControllerPreparedResult(hostName, failedResult);
-                    } else {
-                        // Record the prepared result
-                        multiphaseContext.addHostControllerPreparedResult(hostName, preparedResult);
-                    }
-                    results.add(prepared);
-                }
+                awaitPreparedResults(listener, outstanding, finalResults, results, timeout);
             } catch (InterruptedException ie) {
                 interrupted = true;
                 // Set rollback only
@@ -192,6 +170,104 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Waits for the remote hosts to report a prepared result. Hosts that have not prepared within {@code timeout}
+     * ms are cancelled and recorded as failed.
+     *
+     * @param listener the listener receiving the prepared results
+     * @param outstanding the hosts that have not yet prepared
+     * @param finalResults the executed requests, by host
+     * @param results collection to which the prepared results are added
+     * @param timeout the time to wait, in ms
+     * @throws InterruptedException if interrupted while waiting for a prepared result
+     */
+    void awaitPreparedResults(final HostControllerUpdateTask.ProxyOperationListener listener, final Set<String> outstanding,
+                              final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
+                              final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results,
+                              final long timeout) throws InterruptedException {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while(outstanding.size() > 0) {
+            final long remaining = deadline - System.nanoTime();
+            final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared =
+                    remaining > 0 ? listener.retrievePreparedOperation(remaining, TimeUnit.NANOSECONDS) : null;
+            if (prepared == null) {
+                // Don't let the slow hosts hold up the whole domain; fail them and report what we have
+                cancelOutstandingHosts(listener, outstanding, finalResults, timeout);
+                break;
+            }
+            final String hostName = prepared.getOperation().getName();
+            if(! outstanding.remove(hostName)) {
+                continue;
+            }
+            final ModelNode preparedResult = prepared.getPreparedResult();
+            if (HOST_CONTROLLER_LOGGER.isDebugEnabled()) {
+                HOST_CONTROLLER_LOGGER.debugf("Remote host %s prepared after %d ms", hostName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            HOST_CONTROLLER_LOGGER.tracef("Preliminary result for remote host %s is %s", hostName, preparedResult);
+            // See if we have to reject the result
+            final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
+            boolean reject = request.rejectOperation(preparedResult);
+            if(reject) {
+                if (HOST_CONTROLLER_LOGGER.isDebugEnabled()) {
+                    HOST_CONTROLLER_LOGGER.debugf("Rejecting result for remote host %s is %s", hostName, preparedResult);
+                }
+                final ModelNode failedResult = new ModelNode();
+                failedResult.get(OUTCOME).set(FAILED);
+                failedResult.get(FAILURE_DESCRIPTION).set(request.getFailureDescription());
+
+                // Record the failed result
+                multiphaseContext.addHostControllerPreparedResult(hostName, failedResult);
+            } else {
+                // Record the prepared result
+                multiphaseContext.addHostControllerPreparedResult(hostName, preparedResult);
+            }
+            results.add(prepared);
+        }
+    }
+
+    private void cancelOutstandingHosts(final HostControllerUpdateTask.ProxyOperationListener listener, final Set<String> outstanding,
+                                        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
+                                        final long timeout) throws InterruptedException {
+        HOST_CONTROLLER_LOGGER.timedOutAwaitingHostPreparedResponse(timeout, new HashSet<String>(outstanding));
+        for (final String hostName : outstanding) {
+            finalResults.get(hostName).asyncCancel();
+        }
+        // A host may have prepared just as it was cancelled; roll it back rather than leave it waiting for us
+        final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> late = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
+        listener.drainTo(late);
+        for (final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared : late) {
+            if (outstanding.contains(prepared.getOperation().getName()) && !prepared.isFailed() && !prepared.isDone()) {
+                prepared.rollback();
+            }
+        }
+        // Wait for the cancelled hosts to complete, so none is still executing the operation once the
+        // domain lock is released. Record a failure for each, so the operation is rolled back and the host
+        // is listed in the response
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        for (final String hostName : outstanding) {
+            final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
+            ModelNode result = null;
+            try {
+                final long remaining = Math.max(0, deadline - System.nanoTime());
+                result = request.transformResult(request.getFinalResult().get(remaining, TimeUnit.NANOSECONDS).getResponseNode());
+            } catch (ExecutionException e) {
+                HOST_CONTROLLER_LOGGER.debugf(e, "Cancelled request to host %s failed", hostName);
+            } catch (TimeoutException e) {
+                HOST_CONTROLLER_LOGGER.debugf("Cancelled request to host %s did not complete", hostName);
+            } catch (CancellationException e) {
+                HOST_CONTROLLER_LOGGER.debugf("Request to host %s was cancelled", hostName);
+            }
+            if (result == null || !result.has(FAILURE_DESCRIPTION)) {
+                result = new ModelNode();
+                result.get(OUTCOME).set(FAILED);
+                result.get(FAILURE_DESCRIPTION).set(HOST_CONTROLLER_LOGGER.timedOutAwaitingPreparedResultFromHost(timeout, hostName));
+            }
+            multiphaseContext.addHostControllerPreparedResult(hostName, result);
+        }
+        outstanding.clear();
+    }
+
     private void finalizeOp(final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results,
                             final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
                             final boolean interrupted, final OperationContext context) {
@@ -257,5 +333,4 @@ public class DomainSlaveHandler implements OperationStepHandler {
             }
         }
     }
-
 }
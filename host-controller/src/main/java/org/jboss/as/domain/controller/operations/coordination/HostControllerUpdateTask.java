@@ -40,6 +40,7 @@ import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Future;
@@ -248,6 +249,11 @@ class HostControllerUpdateTask {
                 }
             }
         }
+
+        @Override
+        protected void drainTo(Collection<TransactionalProtocolClient.PreparedOperation<ProxyOperation>> preparedOperations) {
+            super.drainTo(preparedOperations);
+        }
     }
 
     /** Checks responses from slaves for subsystem version information. TODO this is pretty hacky */
@@ -22,57 +22,93 @@
 
 package org.jboss.as.domain.controller.plan;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.Subject;
 
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.ServerIdentity;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.dmr.ModelNode;
 
 /**
  * @author Emanuel Muckenhuber
  */
 class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
 
+    private final int maxConcurrentServers;
+    private final int maxConcurrentServersPerHost;
+    private final long prepareTimeout;
+
     public ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
                                            ServerTaskExecutor executor, Subject subject) {
+        this(tasks, updatePolicy, executor, subject, 0, 0, 0);
+    }
+
+    /**
+     * @param maxConcurrentServers the maximum number of servers with an outstanding update, or {@code 0} for no limit
+     * @param maxConcurrentServersPerHost the maximum number of servers on any one host with an outstanding update,
+     *                                    or {@code 0} for no limit
+     * @param prepareTimeout time, in ms, to wait for a server to report a prepared result before it is cancelled,
+     *                       or {@code 0} to wait indefinitely
+     */
+    ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
+                                    ServerTaskExecutor executor, Subject subject, int maxConcurrentServers,
+                                    int maxConcurrentServersPerHost, long prepareTimeout) {
         super(tasks, updatePolicy, executor, subject);
+        this.maxConcurrentServers = maxConcurrentServers;
+        this.maxConcurrentServersPerHost = maxConcurrentServersPerHost;
+        this.prepareTimeout = prepareTimeout;
     }
 
     @Override
     public void execute() {
-        final Set<ServerIdentity> outstanding = new HashSet<ServerIdentity>();
+        // The deadline, in nanos, of each server with an outstanding update
+        final Map<ServerIdentity, Long> outstanding = new HashMap<ServerIdentity, Long>();
+        final Map<String, Integer> outstandingPerHost = new HashMap<String, Integer>();
+        final Set<ServerIdentity> cancelled = new HashSet<ServerIdentity>();
+        final List<ServerUpdateTask> remaining = new LinkedList<ServerUpdateTask>(tasks);
         final ServerTaskExecutor.ServerOperationListener listener = new ServerTaskExecutor.ServerOperationListener();
-        for(final ServerUpdateTask task : tasks) {
-            final ServerIdentity identity = task.getServerIdentity();
-            if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
-                // Execute the task
-                if(executor.executeTask(listener, task)) {
-                    outstanding.add(task.getServerIdentity());
-                }
-            } else {
-                DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
-            }
-        }
+        executeTasks(remaining, outstanding, outstandingPerHost, listener);
         boolean interrupted = false;
         while(!interrupted && ! outstanding.isEmpty()) {
             try {
                 // Wait for all prepared results
-                final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared = listener.retrievePreparedOperation();
-                final ServerIdentity identity = prepared.getOperation().getIdentity();
-                recordPreparedOperation(identity, prepared);
-                outstanding.remove(identity);
+                final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared = retrievePreparedOperation(listener, outstanding);
+                if (prepared == null) {
+                    cancelTimedOutTasks(outstanding, outstandingPerHost, cancelled);
+                } else {
+                    final ServerIdentity identity = prepared.getOperation().getIdentity();
+                    if (outstanding.remove(identity) != null) {
+                        release(outstandingPerHost, identity);
+                        recordPreparedOperation(identity, prepared);
+                    } else if (!prepared.isFailed() && !prepared.isDone()) {
+                        // We already gave up on this server; don't leave it waiting for a commit or rollback
+                        prepared.rollback();
+                    }
+                }
+                // Refill the window with the next servers
+                executeTasks(remaining, outstanding, outstandingPerHost, listener);
             } catch (InterruptedException e) {
                 interrupted = true;
             }
         }
 
         if (!outstanding.isEmpty()) {
-            DomainControllerLogger.HOST_CONTROLLER_LOGGER.interruptedAwaitingPreparedResponse(getClass().getSimpleName(), outstanding);
-            for (ServerIdentity identity : outstanding) {
+            DomainControllerLogger.HOST_CONTROLLER_LOGGER.interruptedAwaitingPreparedResponse(getClass().getSimpleName(), outstanding.keySet());
+            for (ServerIdentity identity : outstanding.keySet()) {
                 executor.cancelTask(identity);
             }
         }
@@ -81,4 +117,82 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
             Thread.currentThread().interrupt();
         }
     }
+
+    private TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> retrievePreparedOperation(
+            final ServerTaskExecutor.ServerOperationListener listener, final Map<ServerIdentity, Long> outstanding) throws InterruptedException {
+        if (prepareTimeout <= 0) {
+            return listener.retrievePreparedOperation();
+        }
+        // Wait until the first server times out
+        final long remaining = Collections.min(outstanding.values()) - System.nanoTime();
+        return listener.retrievePreparedOperation(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelTimedOutTasks(final Map<ServerIdentity, Long> outstanding, final Map<String, Integer> outstandingPerHost,
+                                     final Set<ServerIdentity> cancelled) {
+        final long now = System.nanoTime();
+        final Set<ServerIdentity> timedOut = new HashSet<ServerIdentity>();
+        final Iterator<Map.Entry<ServerIdentity, Long>> iterator = outstanding.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<ServerIdentity, Long> entry = iterator.next();
+            if (entry.getValue() - now > 0) {
+                continue;
+            }
+            final ServerIdentity identity = entry.getKey();
+            if (cancelled.add(identity)) {
+                // Give the server another period to report the cancellation as a failed prepared result
+                executor.cancelTask(identity);
+                entry.setValue(now + TimeUnit.MILLISECONDS.toNanos(prepareTimeout));
+                timedOut.add(identity);
+            } else {
+                // The server did not respond to the cancellation either; stop waiting for it
+                iterator.remove();
+                release(outstandingPerHost, identity);
+                final ModelNode failedResult = new ModelNode();
+                failedResult.get(OUTCOME).set(FAILED);
+                failedResult.get(FAILURE_DESCRIPTION).set(DomainControllerLogger.HOST_CONTROLLER_LOGGER.timedOutAwaitingPreparedResultFromServer(prepareTimeout, identity));
+                updatePolicy.recordServerResult(identity, failedResult);
+            }
+        }
+        if (!timedOut.isEmpty()) {
+            DomainControllerLogger.HOST_CONTROLLER_LOGGER.timedOutAwaitingServerPreparedResponse(getClass().getSimpleName(), prepareTimeout, timedOut);
+        }
+    }
+
+    private void executeTasks(final List<ServerUpdateTask> remaining, final Map<ServerIdentity, Long> outstanding,
+                              final Map<String, Integer> outstandingPerHost,
+                              final ServerTaskExecutor.ServerOperationListener listener) {
+        final Iterator<ServerUpdateTask> iterator = remaining.iterator();
+        while (iterator.hasNext() && (maxConcurrentServers <= 0 || outstanding.size() < maxConcurrentServers)) {
+            final ServerUpdateTask task = iterator.next();
+            final ServerIdentity identity = task.getServerIdentity();
+            if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
+                final String hostName = identity.getHostName();
+                final Integer onHost = outstandingPerHost.get(hostName);
+                if (maxConcurrentServersPerHost > 0 && onHost != null && onHost >= maxConcurrentServersPerHost) {
+                    // Leave it until one of the other servers on its host has prepared
+                    continue;
+                }
+                iterator.remove();
+                // Execute the task
+                if(executor.executeTask(listener, task)) {
+                    outstanding.put(identity, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(prepareTimeout));
+                    outstandingPerHost.put(hostName, onHost == null ? 1 : onHost + 1);
+                }
+            } else {
+                iterator.remove();
+                DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
+            }
+        }
+    }
+
+    private static void release(final Map<String, Integer> outstandingPerHost, final ServerIdentity identity) {
+        final String hostName = identity.getHostName();
+        final Integer onHost = outstandingPerHost.get(hostName);
+        if (onHost != null && onHost > 1) {
+            outstandingPerHost.put(hostName, onHost - 1);
+        } else {
+            outstandingPerHost.remove(hostName);
+        }
+    }
 }
@@ -28,6 +28,8 @@ package org.jboss.as.domain.controller.plan;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONCURRENT_GROUPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GRACEFUL_SHUTDOWN_TIMEOUT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS_PER_HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ACROSS_GROUPS;
@@ -75,12 +77,28 @@ public class RolloutPlanController {
                                  final MultiphaseOverallContext domainOperationContext,
                                  final ServerTaskExecutor taskExecutor,
                                  final ExecutorService executor) {
+        this(opsByGroup, rolloutPlan, domainOperationContext, taskExecutor, executor, 0);
+    }
+
+    /**
+     * @param prepareTimeout time, in ms, to wait for a server in a non-rolling server group to report a prepared
+     *                       result before it is cancelled, or {@code 0} to wait indefinitely
+     */
+    public RolloutPlanController(final Map<String, Map<ServerIdentity, ModelNode>> opsByGroup,
+                                 final ModelNode rolloutPlan,
+                                 final MultiphaseOverallContext domainOperationContext,
+                                 final ServerTaskExecutor taskExecutor,
+                                 final ExecutorService executor,
+                                 final long prepareTimeout) {
         this.domainOperationContext = domainOperationContext;
 
         this.rollbackAcrossGroups = !rolloutPlan.hasDefined(ROLLBACK_ACROSS_GROUPS) || rolloutPlan.get(ROLLBACK_ACROSS_GROUPS).asBoolean();
         this.shutdown = rolloutPlan.hasDefined(SHUTDOWN) && rolloutPlan.get(SHUTDOWN).asBoolean();
         this.gracefulShutdownPeriod = rolloutPlan.hasDefined(GRACEFUL_SHUTDOWN_TIMEOUT) ? rolloutPlan.get(GRACEFUL_SHUTDOWN_TIMEOUT).asInt() : -1;
 
+        // Restarting a server may legitimately take longer than the prepare timeout
+        final long serverTimeout = shutdown ? 0 : prepareTimeout;
+
         final List<Runnable> rollingTasks = new ArrayList<Runnable>();
         this.rootTask = new RollingUpdateTask(rollingTasks);
 
@@ -130,9 +148,11 @@ public class RolloutPlanController {
                         maxFailures = policyNode.get(MAX_FAILED_SERVERS).asInt();
                     }
                     ServerUpdatePolicy policy = new ServerUpdatePolicy(parent, serverGroupName, servers, maxFailures);
+                    final int maxConcurrent = policyNode.hasDefined(MAX_CONCURRENT_SERVERS) ? policyNode.get(MAX_CONCURRENT_SERVERS).asInt() : 0;
+                    final int maxConcurrentPerHost = policyNode.hasDefined(MAX_CONCURRENT_SERVERS_PER_HOST) ? policyNode.get(MAX_CONCURRENT_SERVERS_PER_HOST).asInt() : 0;
 
                     seriesTasks.add(rollingGroup ? new RollingServerGroupUpdateTask(groupTasks, policy, taskExecutor, subject)
-                        : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, subject));
+                        : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, subject, maxConcurrent, maxConcurrentPerHost, serverTimeout));
 
                     updatePolicies.put(serverGroupName, policy);
 
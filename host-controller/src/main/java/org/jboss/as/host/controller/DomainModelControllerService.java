@@ -839,6 +839,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
 
     protected void stopAsynchronous(StopContext context)  {
         pingScheduler.shutdownNow();
+        try {
+            hostControllerConfigurationPersister.flush();
+        } catch (ConfigurationPersistenceException e) {
+            ROOT_LOGGER.errorf(e, e.toString());
+        }
     }
 
 
@@ -32,6 +32,7 @@ import java.util.concurrent.ExecutorService;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
+import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
@@ -201,6 +202,27 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Writes any configuration changes whose write is being delayed by group commit.
+     *
+     * @throws ConfigurationPersistenceException if the host or the domain changes could not be written
+     */
+    public void flush() throws ConfigurationPersistenceException {
+        try {
+            flush(hostPersister);
+        } finally {
+            if (domainPersister != null) {
+                flush(domainPersister);
+            }
+        }
+    }
+
+    private static void flush(ExtensibleConfigurationPersister persister) throws ConfigurationPersistenceException {
+        if (persister instanceof BackupXmlConfigurationPersister) {
+            ((BackupXmlConfigurationPersister) persister).flush();
+        }
+    }
+
     @Override
     public SnapshotInfo listSnapshots() {
         throw new UnsupportedOperationException();
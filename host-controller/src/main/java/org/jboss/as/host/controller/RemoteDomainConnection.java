@@ -40,9 +40,11 @@ import javax.net.ssl.SSLContext;
 import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.client.impl.CompactModelNodeCodec;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.management.CallbackHandlerFactory;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
@@ -341,6 +343,13 @@ class RemoteDomainConnection extends FutureManagementChannel {
          */
         boolean applyDomainModel(List<ModelNode> result);
 
+        /**
+         * Get the hashes of the domain root resources which are still the same as last received from the master.
+         *
+         * @return the list of resource addresses and hashes
+         */
+        ModelNode getDomainModelHashes();
+
         /**
          * Event that the registration was completed.
          *
@@ -361,6 +370,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
              output.writeUTF(localHostName);
              ModelNode hostInfo = localHostInfo.clone();
              hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(pongHandler.getConnectionId());
+             hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_HASHES).set(callback.getDomainModelHashes());
              hostInfo.writeExternal(output);
          }
 
@@ -374,8 +384,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
              }
-             final ModelNode extensions = new ModelNode();
-             extensions.readExternal(input);
+             final ModelNode extensions = CompactModelNodeCodec.readModelNode(context.getRequestHeader(), input);
              // Enable the send subject
              if (context.getRequestHeader().getVersion() != 1) {
                  channelHandler.getAttachments().attach(TransactionalProtocolClient.SEND_SUBJECT, Boolean.TRUE);
@@ -443,8 +452,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
              }
-             final ModelNode domainModel = new ModelNode();
-             domainModel.readExternal(input);
+             final ModelNode domainModel = CompactModelNodeCodec.readModelNode(context.getRequestHeader(), input);
              context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                  @Override
                  public void execute(ManagementRequestContext<Void> voidManagementRequestContext) throws Exception {
@@ -41,8 +41,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -58,6 +62,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.ProxyOperationAddressTranslator;
 import org.jboss.as.controller.RunningMode;
@@ -81,6 +86,7 @@ import org.jboss.as.domain.controller.operations.ApplyExtensionsHandler;
 import org.jboss.as.domain.controller.operations.ApplyMissingDomainModelResourcesHandler;
 import org.jboss.as.domain.controller.operations.ApplyRemoteMasterDomainModelHandler;
 import org.jboss.as.domain.controller.operations.PullDownDataForServerConfigOnSlaveHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
@@ -183,6 +189,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    private volatile Map<PathElement, AppliedRootResource> appliedRootResources = Collections.emptyMap();
 
     private RemoteDomainConnectionService(final ModelController controller, final ExtensionRegistry extensionRegistry,
                                           final LocalHostControllerInfo localHostControllerInfo, final ProductConfig productConfig,
@@ -430,6 +437,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     return applyRemoteDomainModel(bootOperations);
                 }
 
+                @Override
+                public ModelNode getDomainModelHashes() {
+                    return getUnchangedDomainModelHashes();
+                }
+
                 @Override
                 public void registrationComplete(ManagementChannelHandler handler) {
                     //
@@ -498,10 +510,58 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         if (!success) {
             ModelNode failureDesc = result.hasDefined(FAILURE_DESCRIPTION) ? result.get(FAILURE_DESCRIPTION) : new ModelNode();
             HostControllerLogger.ROOT_LOGGER.failedToApplyDomainConfig(outcome, failureDesc);
+        } else {
+            recordAppliedRootResources(bootOperations);
         }
         return success;
     }
 
+    /**
+     * Record the hashes the master sent for the root resources, along with the hash of the local copy, so that
+     * we can tell the master which root resources do not need to be sent again when we reconnect.
+     *
+     * @param bootOperations the applied domain model
+     */
+    private void recordAppliedRootResources(final List<ModelNode> bootOperations) {
+        final Resource domainRoot = ReadRootResourceHandler.grabDomainResource(operationExecutor);
+        final Map<PathElement, AppliedRootResource> applied = new HashMap<PathElement, AppliedRootResource>();
+        for (final ModelNode description : bootOperations) {
+            if (!description.hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_HASH)) {
+                continue;
+            }
+            final PathAddress address = PathAddress.pathAddress(description.require(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS));
+            final Resource resource = address.size() == 1 ? domainRoot.getChild(address.getElement(0)) : null;
+            if (resource != null) {
+                applied.put(address.getElement(0), new AppliedRootResource(description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_HASH).asBytes(),
+                        ReadMasterDomainModelUtil.hashResource(resource)));
+            }
+        }
+        appliedRootResources = applied;
+    }
+
+    /**
+     * Get the master hashes of the root resources whose local copy has not changed since they were applied.
+     *
+     * @return the list of root resource addresses and hashes
+     */
+    private ModelNode getUnchangedDomainModelHashes() {
+        final ModelNode hashes = new ModelNode().setEmptyList();
+        final Map<PathElement, AppliedRootResource> applied = appliedRootResources;
+        if (applied.isEmpty()) {
+            return hashes;
+        }
+        final Resource domainRoot = ReadRootResourceHandler.grabDomainResource(operationExecutor);
+        for (final Map.Entry<PathElement, AppliedRootResource> entry : applied.entrySet()) {
+            final Resource resource = domainRoot.getChild(entry.getKey());
+            if (resource != null && Arrays.equals(entry.getValue().localHash, ReadMasterDomainModelUtil.hashResource(resource))) {
+                final ModelNode hash = hashes.add();
+                hash.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS).set(PathAddress.pathAddress(entry.getKey()).toModelNode());
+                hash.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_HASH).set(entry.getValue().masterHash);
+            }
+        }
+        return hashes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public synchronized void stop(final StopContext context) {
@@ -711,6 +771,16 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    private static class AppliedRootResource {
+        private final byte[] masterHash;
+        private final byte[] localHash;
+
+        private AppliedRootResource(byte[] masterHash, byte[] localHash) {
+            this.masterHash = masterHash;
+            this.localHash = localHash;
+        }
+    }
+
     private static class ReadRootResourceHandler implements OperationStepHandler {
         private Resource resource;
 
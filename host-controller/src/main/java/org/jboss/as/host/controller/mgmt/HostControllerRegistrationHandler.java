@@ -48,6 +48,7 @@ import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.impl.CompactModelNodeCodec;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
@@ -68,6 +69,7 @@ import org.jboss.as.protocol.mgmt.ActiveOperation;
 import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.protocol.mgmt.ManagementRequestHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequestHandlerFactory;
@@ -102,17 +104,19 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
     private final Executor registrationExecutor;
     private final DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry;
     private final HostRegistrations slaveHostRegistrations;
+    private final TransformedDomainModelCache transformedDomainModelCache;
     private final String address;
 
     public HostControllerRegistrationHandler(ManagementChannelHandler handler, DomainController domainController, OperationExecutor operationExecutor,
                                              Executor registrations, DomainControllerRuntimeIgnoreTransformationRegistry runtimeIgnoreTransformationRegistry,
-                                             HostRegistrations slaveHostRegistrations) {
+                                             HostRegistrations slaveHostRegistrations, TransformedDomainModelCache transformedDomainModelCache) {
         this.handler = handler;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
         this.registrationExecutor = registrations;
         this.runtimeIgnoreTransformationRegistry = runtimeIgnoreTransformationRegistry;
         this.slaveHostRegistrations = slaveHostRegistrations;
+        this.transformedDomainModelCache = transformedDomainModelCache;
         this.address = HostControllerRegistrationHandler.this.handler.getRemoteAddress().getHostAddress();
     }
 
@@ -290,7 +294,9 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             // Remotely resolve the subsystem versions and create the transformation
             registrationContext.processSubsystems(transformers, extensions);
             // Now run the read-domain model operation
-            final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo.getHostName(), transformers, runtimeIgnoreTransformationRegistry);
+            final TransformedDomainModelCache.Slot cacheSlot = transformedDomainModelCache.getSlot(hostInfo, registrationContext.subsystems);
+            final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo.getHostName(), transformers, runtimeIgnoreTransformationRegistry,
+                    hostInfo.getDomainModelHashes(), cacheSlot);
             context.addStep(READ_DOMAIN_MODEL.getOperation(), handler, OperationContext.Stage.MODEL);
         }
     }
@@ -307,6 +313,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         private volatile IOTask<?> task;
         private volatile boolean failed;
         private volatile Transformers transformers;
+        private volatile ModelNode subsystems;
         private ActiveOperation<Void, RegistrationContext> activeOperation;
         private final AtomicBoolean completed = new AtomicBoolean();
         private volatile DomainControllerRuntimeIgnoreTransformationEntry runtimeIgnoreTransformation;
@@ -428,8 +435,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             this.transformers = transformers;
             final ModelNode subsystems = executeBlocking(new IOTask<ModelNode>() {
                 @Override
-                void sendMessage(FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, extensions);
+                void sendMessage(FlushableDataOutput output, ManagementProtocolHeader header) throws IOException {
+                    sendResponse(output, header, DomainControllerProtocol.PARAM_OK, extensions);
                 }
             });
             if(failed) {
@@ -441,6 +448,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                 final ModelNode version = subsystem.getValue();
                 target.addSubsystemVersion(subsystemName, ModelVersion.fromString(version.asString()));
             }
+            this.subsystems = subsystems;
         }
 
         protected void setSubsystems(final ModelNode resolved, final ManagementRequestContext<RegistrationContext> responseChannel) {
@@ -480,8 +488,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         private boolean sendResultToHost(ModelController.OperationTransaction transaction, final ModelNode result) {
             final Boolean registered = executeBlocking(new IOTask<Boolean>() {
                 @Override
-                void sendMessage(final FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, result);
+                void sendMessage(final FlushableDataOutput output, final ManagementProtocolHeader header) throws IOException {
+                    sendResponse(output, header, DomainControllerProtocol.PARAM_OK, result);
                 }
             });
             if(! registered) {
@@ -571,7 +579,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                     final ManagementResponseHeader header = ManagementResponseHeader.create(responseChannel.getRequestHeader());
                     final FlushableDataOutput output = responseChannel.writeMessage(header);
                     try {
-                        task.sendMessage(output);
+                        task.sendMessage(output, header);
                     } catch (IOException e) {
                         failed(SlaveRegistrationException.ErrorCode.UNKNOWN, DomainControllerLogger.ROOT_LOGGER.failedToSendMessage(e.getMessage()));
                         throw new IllegalStateException(e);
@@ -602,7 +610,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             super(null);
         }
 
-        abstract void sendMessage(final FlushableDataOutput output) throws IOException;
+        abstract void sendMessage(final FlushableDataOutput output, final ManagementProtocolHeader header) throws IOException;
 
         @SuppressWarnings("unchecked")
         boolean completeStep(Object result) {
@@ -626,18 +634,18 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         final ManagementResponseHeader header = ManagementResponseHeader.create(context.getRequestHeader());
         final FlushableDataOutput output = context.writeMessage(header);
         try {
-            sendResponse(output, responseType, response);
+            sendResponse(output, header, responseType, response);
         } finally {
             StreamUtils.safeClose(output);
         }
     }
 
-    static void sendResponse(final FlushableDataOutput output, final byte responseType, final ModelNode response) throws IOException {
+    static void sendResponse(final FlushableDataOutput output, final ManagementProtocolHeader header, final byte responseType, final ModelNode response) throws IOException {
         // response type
         output.writeByte(responseType);
         if(response != null) {
             // operation result
-            response.writeExternal(output);
+            CompactModelNodeCodec.writeModelNode(response, header, output);
         }
         // response end
         output.writeByte(ManagementProtocol.RESPONSE_END);
@@ -40,6 +40,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOC
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WILDCARD;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -53,6 +54,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.host.controller.IgnoredNonAffectedServerGroupsUtil;
 import org.jboss.as.host.controller.IgnoredNonAffectedServerGroupsUtil.ServerConfigInfo;
 import org.jboss.as.host.controller.RemoteDomainConnectionService;
@@ -118,8 +120,10 @@ public class HostInfo implements TransformationTarget.IgnoredTransformationRegis
     private final String productVersion;
     private final Long remoteConnectionId;
     private final Map<String, IgnoredType> ignoredResources;
+    private final ModelNode ignoredResourcesModel;
     private final boolean ignoreUnaffectedConfig;
     private final ConcurrentMap<String, ServerConfigInfo> serverConfigInfos;
+    private final Map<PathElement, byte[]> domainModelHashes;
 
     private HostInfo(final ModelNode hostInfo) {
         hostName = hostInfo.require(NAME).asString();
@@ -133,6 +137,7 @@ public class HostInfo implements TransformationTarget.IgnoredTransformationRegis
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
 
+        ignoredResourcesModel = hostInfo.hasDefined(IGNORED_RESOURCES) ? hostInfo.get(IGNORED_RESOURCES).clone() : new ModelNode();
         if (hostInfo.hasDefined(IGNORED_RESOURCES)) {
             ignoredResources = new HashMap<String, IgnoredType>();
             for (Property prop : hostInfo.require(IGNORED_RESOURCES).asPropertyList()) {
@@ -158,6 +163,16 @@ public class HostInfo implements TransformationTarget.IgnoredTransformationRegis
             }
         }
         this.serverConfigInfos = serverConfigInfos;
+        if (hostInfo.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_HASHES)) {
+            final Map<PathElement, byte[]> hashes = new HashMap<PathElement, byte[]>();
+            for (ModelNode entry : hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_HASHES).asList()) {
+                final PathAddress address = PathAddress.pathAddress(entry.require(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS));
+                hashes.put(address.getElement(0), entry.require(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_HASH).asBytes());
+            }
+            domainModelHashes = Collections.unmodifiableMap(hashes);
+        } else {
+            domainModelHashes = null;
+        }
     }
 
     public String getHostName() {
@@ -196,6 +211,15 @@ public class HostInfo implements TransformationTarget.IgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the hashes of the domain root resources the slave already has.
+     *
+     * @return the hashes, or {@code null} if the slave does not support partial domain model synchronisation
+     */
+    public Map<PathElement, byte[]> getDomainModelHashes() {
+        return domainModelHashes;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         //Resource transformation only happens on boot so the list from the slave is up to date
         if (ignoredResources != null && address.size() > 0) {
@@ -221,6 +245,10 @@ public class HostInfo implements TransformationTarget.IgnoredTransformationRegis
         return false;
     }
 
+    ModelNode getIgnoredResourcesModel() {
+        return ignoredResourcesModel;
+    }
+
     Collection<IgnoredNonAffectedServerGroupsUtil.ServerConfigInfo> getServerConfigInfos() {
             return serverConfigInfos.values();
     }
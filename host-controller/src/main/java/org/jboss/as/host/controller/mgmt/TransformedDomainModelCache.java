@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORED_RESOURCES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MAJOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MICRO_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+
+/**
+ * Cache of the transformed domain model descriptions sent to registering slave host controllers. Slaves with the
+ * same management version, subsystem versions and ignored resources get the same transformed model, so it only
+ * needs to be transformed once per distinct set of versions for each version of the domain model.
+ * <p>
+ * An entry is only reused while the hash of the untransformed domain model it was created from still matches.
+ * Slaves which ignore the configuration not affecting their servers are not cached, since what they get depends
+ * on their own server configuration.
+ */
+public class TransformedDomainModelCache {
+
+    private static final int MAX_ENTRIES = 16;
+
+    private final Map<ModelNode, Entry> entries = new LinkedHashMap<ModelNode, Entry>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ModelNode, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Gets the cache slot for a registering slave.
+     *
+     * @param hostInfo the registration information provided by the slave
+     * @param subsystems the subsystem versions of the slave
+     * @return the slot, or {@code null} if the transformed model for this slave cannot be shared with other slaves
+     */
+    public Slot getSlot(final HostInfo hostInfo, final ModelNode subsystems) {
+        if (hostInfo.isIgnoreUnaffectedConfig()) {
+            return null;
+        }
+        final ModelNode key = new ModelNode();
+        key.get(MANAGEMENT_MAJOR_VERSION).set(hostInfo.getManagementMajorVersion());
+        key.get(MANAGEMENT_MINOR_VERSION).set(hostInfo.getManagementMinorVersion());
+        key.get(MANAGEMENT_MICRO_VERSION).set(hostInfo.getManagementMicroVersion());
+        final Map<String, String> sorted = new TreeMap<String, String>();
+        if (subsystems.isDefined()) {
+            for (Property subsystem : subsystems.asPropertyList()) {
+                sorted.put(subsystem.getName(), subsystem.getValue().asString());
+            }
+        }
+        final ModelNode subsystemVersions = key.get(SUBSYSTEM).setEmptyObject();
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            subsystemVersions.get(entry.getKey()).set(entry.getValue());
+        }
+        key.get(IGNORED_RESOURCES).set(hostInfo.getIgnoredResourcesModel());
+        key.protect();
+        return new Slot(key);
+    }
+
+    private synchronized Entry get(final ModelNode key, final byte[] domainModelHash) {
+        final Entry entry = entries.get(key);
+        return entry != null && Arrays.equals(entry.domainModelHash, domainModelHash) ? entry : null;
+    }
+
+    private synchronized void put(final ModelNode key, final Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * The place in the cache for the transformed model of a particular registering slave.
+     */
+    public final class Slot {
+        private final ModelNode key;
+
+        private Slot(final ModelNode key) {
+            this.key = key;
+        }
+
+        /**
+         * Gets the cached transformed model.
+         *
+         * @param domainModelHash the hash of the current untransformed domain model
+         * @return the cached model, or {@code null} if there is none for the current domain model
+         */
+        public Entry get(final byte[] domainModelHash) {
+            return TransformedDomainModelCache.this.get(key, domainModelHash);
+        }
+
+        /**
+         * Stores the transformed model, replacing any transformed from an earlier domain model.
+         *
+         * @param domainModelHash the hash of the untransformed domain model
+         * @param describedResources the described resources of the transformed model
+         * @param newRootResources the root resources in the transformed model
+         */
+        public void put(final byte[] domainModelHash, final List<ModelNode> describedResources, final Set<PathElement> newRootResources) {
+            TransformedDomainModelCache.this.put(key, new Entry(domainModelHash, describedResources, newRootResources));
+        }
+    }
+
+    /**
+     * A cached transformed domain model.
+     */
+    public static final class Entry {
+        private final byte[] domainModelHash;
+        private final List<ModelNode> describedResources;
+        private final Set<PathElement> newRootResources;
+
+        private Entry(final byte[] domainModelHash, final List<ModelNode> describedResources, final Set<PathElement> newRootResources) {
+            this.domainModelHash = domainModelHash;
+            for (ModelNode description : describedResources) {
+                description.protect();
+            }
+            this.describedResources = Collections.unmodifiableList(new ArrayList<ModelNode>(describedResources));
+            this.newRootResources = Collections.unmodifiableSet(new HashSet<PathElement>(newRootResources));
+        }
+
+        /**
+         * Gets the described resources. The returned nodes are shared and must not be modified.
+         *
+         * @return the described resources
+         */
+        public List<ModelNode> getDescribedResources() {
+            return describedResources;
+        }
+
+        public Set<PathElement> getNewRootResources() {
+            return newRootResources;
+        }
+    }
+}
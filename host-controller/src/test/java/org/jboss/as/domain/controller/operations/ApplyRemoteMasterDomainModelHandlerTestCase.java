@@ -26,6 +26,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_CLIENT_CONTENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PORT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLOUT_PLANS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER;
@@ -242,6 +243,64 @@ public class ApplyRemoteMasterDomainModelHandlerTestCase extends AbstractOperati
         assertTrue(r instanceof ManagedDMRContentTypeResource);
     }
 
+    @Test
+    public void testUnchangedRootResourceIsKept() throws Exception {
+        Resource root = createRootResource();
+        final PathElement bindingGroup = PathElement.pathElement(SOCKET_BINDING_GROUP, "binding-one");
+        final PathElement binding = PathElement.pathElement(SOCKET_BINDING, "bindingA");
+        Resource resourceA = Resource.Factory.create();
+        resourceA.getModel().get(PORT).set(8080);
+        root.getChild(bindingGroup).registerChild(binding, resourceA);
+
+        // A slave without any known root resources gets everything, along with the hashes
+        final Map<PathElement, byte[]> knownHashes = new HashMap<PathElement, byte[]>();
+        ModelNode full = readMasterDomainModel(root, knownHashes);
+        ModelNode bindingGroupDescription = findDescription(full, PathAddress.pathAddress(bindingGroup));
+        assertTrue(bindingGroupDescription.hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_HASH));
+        Assert.assertNotNull(findDescription(full, PathAddress.pathAddress(bindingGroup, binding)));
+
+        // A slave which has the socket binding group only gets a marker for it
+        knownHashes.put(bindingGroup, bindingGroupDescription.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_HASH).asBytes());
+        ModelNode delta = readMasterDomainModel(root, knownHashes);
+        Assert.assertEquals(full.asList().size() - 1, delta.asList().size());
+        Assert.assertNull(findDescription(delta, PathAddress.pathAddress(bindingGroup, binding)));
+        ModelNode unchanged = findDescription(delta, PathAddress.pathAddress(bindingGroup));
+        assertTrue(unchanged.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_UNCHANGED).asBoolean());
+        Assert.assertFalse(unchanged.hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL));
+
+        // Applying the delta keeps the local copy of the unchanged resource
+        final ModelNode operation = new ModelNode();
+        operation.get(DOMAIN_MODEL).set(delta);
+        final MockOperationContext operationContext = getOperationContext(root, false);
+        handler.execute(operationContext, operation);
+        operationContext.verify();
+        Resource appliedBinding = operationContext.root.navigate(PathAddress.pathAddress(bindingGroup, binding));
+        assertEquals(8080, appliedBinding.getModel().get(PORT).asInt());
+
+        // A change to the subtree means it is sent again
+        resourceA.getModel().get(PORT).set(8081);
+        ModelNode changed = readMasterDomainModel(root, knownHashes);
+        Assert.assertEquals(full.asList().size(), changed.asList().size());
+        Assert.assertFalse(findDescription(changed, PathAddress.pathAddress(bindingGroup)).hasDefined(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_UNCHANGED));
+    }
+
+    private ModelNode readMasterDomainModel(Resource root, Map<PathElement, byte[]> knownHashes) throws Exception {
+        MockOperationContext context = getOperationContext(root, true);
+        DomainControllerRuntimeIgnoreTransformationRegistry registry = new DomainControllerRuntimeIgnoreTransformationRegistry();
+        registry.initializeHost("localhost");
+        new ReadMasterDomainModelHandler("localhost", new NoopTransformers(), registry, knownHashes, null).execute(context, new ModelNode());
+        return context.getResult();
+    }
+
+    private static ModelNode findDescription(ModelNode descriptions, PathAddress address) {
+        for (ModelNode description : descriptions.asList()) {
+            if (address.equals(PathAddress.pathAddress(description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS)))) {
+                return description;
+            }
+        }
+        return null;
+    }
+
     private ModelNode getCurrentModelUpdates(Resource root, UpdateListModifier modifier) throws Exception {
         MockOperationContext context = getOperationContext(root, true);
         DomainControllerRuntimeIgnoreTransformationRegistry registry = new DomainControllerRuntimeIgnoreTransformationRegistry();
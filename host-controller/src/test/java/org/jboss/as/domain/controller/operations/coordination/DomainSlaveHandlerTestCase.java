@@ -0,0 +1,255 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of how {@link DomainSlaveHandler} waits for the slave hosts to prepare.
+ */
+public class DomainSlaveHandlerTestCase {
+
+    private MultiphaseOverallContext multiphaseContext;
+    private DomainSlaveHandler handler;
+    private HostControllerUpdateTask.ProxyOperationListener listener;
+    private Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults;
+    private List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results;
+
+    @Before
+    public void setUp() {
+        multiphaseContext = new MultiphaseOverallContext(null);
+        handler = new DomainSlaveHandler(Collections.<String, ProxyController>emptyMap(), multiphaseContext, null);
+        listener = new HostControllerUpdateTask.ProxyOperationListener();
+        finalResults = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
+        results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
+    }
+
+    @Test
+    public void testAllHostsPrepared() throws Exception {
+        final TestFuture a = addHost("a");
+        final TestFuture b = addHost("b");
+        listener.operationPrepared(new PreparedHostOperation("a", a));
+        listener.operationPrepared(new PreparedHostOperation("b", b));
+
+        final Set<String> outstanding = new HashSet<String>(finalResults.keySet());
+        handler.awaitPreparedResults(listener, outstanding, finalResults, results, 10000);
+
+        Assert.assertTrue(outstanding.isEmpty());
+        Assert.assertEquals(2, results.size());
+        Assert.assertFalse(a.cancelled);
+        Assert.assertFalse(b.cancelled);
+        Assert.assertEquals(SUCCESS, multiphaseContext.getHostControllerPreparedResults().get("a").get(OUTCOME).asString());
+        Assert.assertEquals(SUCCESS, multiphaseContext.getHostControllerPreparedResults().get("b").get(OUTCOME).asString());
+    }
+
+    @Test
+    public void testTimedOutHostIsCancelledAndAwaited() throws Exception {
+        final TestFuture fast = addHost("fast");
+        final TestFuture slow = addHost("slow");
+        listener.operationPrepared(new PreparedHostOperation("fast", fast));
+
+        final Set<String> outstanding = new HashSet<String>(finalResults.keySet());
+        handler.awaitPreparedResults(listener, outstanding, finalResults, results, 100);
+
+        Assert.assertTrue(outstanding.isEmpty());
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("fast", results.get(0).getOperation().getName());
+        Assert.assertFalse(fast.cancelled);
+        Assert.assertTrue(slow.cancelled);
+        // The host's own response to the cancellation is recorded
+        final ModelNode slowResult = multiphaseContext.getHostControllerPreparedResults().get("slow");
+        Assert.assertEquals(FAILED, slowResult.get(OUTCOME).asString());
+        Assert.assertEquals("cancelled", slowResult.get(FAILURE_DESCRIPTION).asString());
+    }
+
+    @Test
+    public void testUnresponsiveHostIsRecordedAsFailed() throws Exception {
+        final TestFuture a = addHost("a");
+        final TestFuture slow = addHost("slow");
+        slow.ignoreCancel = true;
+        listener.operationPrepared(new PreparedHostOperation("a", a));
+
+        final long start = System.currentTimeMillis();
+        final Set<String> outstanding = new HashSet<String>(finalResults.keySet());
+        handler.awaitPreparedResults(listener, outstanding, finalResults, results, 100);
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 10000);
+        Assert.assertTrue(outstanding.isEmpty());
+        Assert.assertTrue(slow.cancelled);
+        final ModelNode slowResult = multiphaseContext.getHostControllerPreparedResults().get("slow");
+        Assert.assertEquals(FAILED, slowResult.get(OUTCOME).asString());
+        Assert.assertTrue(slowResult.hasDefined(FAILURE_DESCRIPTION));
+    }
+
+    @Test
+    public void testHostPreparedAfterTimeoutIsRolledBack() throws Exception {
+        final TestFuture slow = addHost("slow");
+        final PreparedHostOperation late = new PreparedHostOperation("slow", slow);
+        // The host prepares just as it is cancelled, and only completes once it is rolled back
+        slow.ignoreCancel = true;
+        slow.preparedOnCancel = late;
+
+        final Set<String> outstanding = new HashSet<String>(finalResults.keySet());
+        handler.awaitPreparedResults(listener, outstanding, finalResults, results, 100);
+
+        Assert.assertTrue(outstanding.isEmpty());
+        Assert.assertTrue(results.isEmpty());
+        Assert.assertTrue(late.rolledBack);
+        final ModelNode slowResult = multiphaseContext.getHostControllerPreparedResults().get("slow");
+        Assert.assertEquals(FAILED, slowResult.get(OUTCOME).asString());
+        Assert.assertEquals("rolled back", slowResult.get(FAILURE_DESCRIPTION).asString());
+    }
+
+    private TestFuture addHost(final String hostName) {
+        final TestFuture future = new TestFuture(listener, hostName);
+        finalResults.put(hostName, new HostControllerUpdateTask.ExecutedHostRequest(future, OperationResultTransformer.ORIGINAL_RESULT, OperationTransformer.DEFAULT_REJECTION_POLICY));
+        return future;
+    }
+
+    private static HostControllerUpdateTask.ProxyOperation operation(final String hostName) {
+        final ModelNode op = new ModelNode();
+        op.get(OP).set("test");
+        return new HostControllerUpdateTask.ProxyOperation(hostName, op, null, null);
+    }
+
+    private static OperationResponse failedResponse(final String failureDescription) {
+        final ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(FAILED);
+        response.get(FAILURE_DESCRIPTION).set(failureDescription);
+        return OperationResponse.Factory.createSimple(response);
+    }
+
+    /**
+     * The final result of a request to a host. By default a cancelled request completes with a failed response.
+     */
+    private static class TestFuture extends AsyncFutureTask<OperationResponse> {
+
+        private final HostControllerUpdateTask.ProxyOperationListener listener;
+        private final String hostName;
+        private volatile boolean cancelled;
+        private boolean ignoreCancel;
+        private PreparedHostOperation preparedOnCancel;
+
+        private TestFuture(final HostControllerUpdateTask.ProxyOperationListener listener, final String hostName) {
+            super(null);
+            this.listener = listener;
+            this.hostName = hostName;
+        }
+
+        @Override
+        public void asyncCancel(final boolean interruptionDesired) {
+            cancelled = true;
+            if (preparedOnCancel != null) {
+                listener.operationPrepared(preparedOnCancel);
+            }
+            if (!ignoreCancel) {
+                complete(failedResponse("cancelled"));
+            }
+        }
+
+        private void complete(final OperationResponse response) {
+            setResult(response);
+        }
+
+        @Override
+        public String toString() {
+            return hostName;
+        }
+    }
+
+    private static class PreparedHostOperation implements TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> {
+
+        private final HostControllerUpdateTask.ProxyOperation operation;
+        private final TestFuture finalResult;
+        private volatile boolean rolledBack;
+
+        private PreparedHostOperation(final String hostName, final TestFuture finalResult) {
+            this.operation = operation(hostName);
+            this.finalResult = finalResult;
+        }
+
+        @Override
+        public HostControllerUpdateTask.ProxyOperation getOperation() {
+            return operation;
+        }
+
+        @Override
+        public ModelNode getPreparedResult() {
+            final ModelNode result = new ModelNode();
+            result.get(OUTCOME).set(SUCCESS);
+            return result;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return finalResult.isDone();
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> getFinalResult() {
+            return finalResult;
+        }
+
+        @Override
+        public void commit() {
+            final ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            finalResult.complete(OperationResponse.Factory.createSimple(response));
+        }
+
+        @Override
+        public void rollback() {
+            rolledBack = true;
+            finalResult.complete(failedResponse("rolled back"));
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.remote.BlockingQueueOperationListener;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the rollout of an update to the servers of a non-rolling server group by
+ * {@link ConcurrentServerGroupUpdateTask}.
+ */
+public class ConcurrentServerGroupUpdateTaskTestCase {
+
+    private static final String GROUP = "main-server-group";
+
+    @Test
+    public void testAllServersUpdatedAtOnce() {
+        final List<ServerIdentity> servers = servers(2, 3);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null).execute();
+
+        Assert.assertEquals(servers, executor.executed);
+        Assert.assertEquals(servers.size(), executor.maxOutstanding);
+        Assert.assertFalse(policy.isFailed());
+    }
+
+    @Test
+    public void testWindowLimitsOutstandingServers() {
+        final List<ServerIdentity> servers = servers(2, 4);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 3, 0, 0).execute();
+
+        Assert.assertEquals(servers, executor.executed);
+        Assert.assertEquals(3, executor.maxOutstanding);
+        Assert.assertFalse(policy.isFailed());
+    }
+
+    @Test
+    public void testFailureStopsWindowRefill() {
+        final List<ServerIdentity> servers = servers(1, 6);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+        executor.failing.add(servers.get(0));
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 2, 0, 0).execute();
+
+        // Only the servers already in the window when the failure was seen are updated
+        Assert.assertEquals(servers.subList(0, 2), executor.executed);
+        Assert.assertTrue(policy.isFailed());
+    }
+
+    @Test
+    public void testFailuresWithinPolicyKeepRefillingWindow() {
+        final List<ServerIdentity> servers = servers(1, 6);
+        final ServerUpdatePolicy policy = policy(servers, 1);
+        final TestExecutor executor = new TestExecutor();
+        executor.failing.add(servers.get(0));
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 2, 0, 0).execute();
+
+        Assert.assertEquals(servers, executor.executed);
+        Assert.assertFalse(policy.isFailed());
+    }
+
+    @Test
+    public void testPerHostLimit() {
+        final List<ServerIdentity> servers = servers(3, 4);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 0, 2, 0).execute();
+
+        // Servers held back by their host's limit are updated later rather than skipped
+        Assert.assertEquals(new HashSet<ServerIdentity>(servers), new HashSet<ServerIdentity>(executor.executed));
+        Assert.assertEquals(2, executor.maxOutstandingPerHost);
+        Assert.assertEquals(6, executor.maxOutstanding);
+        Assert.assertFalse(policy.isFailed());
+    }
+
+    @Test
+    public void testWindowAndPerHostLimit() {
+        final List<ServerIdentity> servers = servers(2, 4);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 3, 1, 0).execute();
+
+        Assert.assertEquals(servers.size(), executor.executed.size());
+        Assert.assertEquals(1, executor.maxOutstandingPerHost);
+        Assert.assertEquals(2, executor.maxOutstanding);
+    }
+
+    @Test
+    public void testTimedOutServerIsCancelled() {
+        final List<ServerIdentity> servers = servers(1, 3);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+        final ServerIdentity slow = servers.get(1);
+        executor.silent.add(slow);
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 0, 0, 100).execute();
+
+        Assert.assertEquals(servers, executor.executed);
+        Assert.assertEquals(Collections.singletonList(slow), executor.cancelled);
+        // The cancellation is reported as a failed prepared result and counts against the policy
+        Assert.assertEquals(3, executor.preparedResults.size());
+        Assert.assertTrue(policy.isFailed());
+    }
+
+    @Test
+    public void testUnresponsiveServerIsAbandoned() {
+        final List<ServerIdentity> servers = servers(1, 3);
+        final ServerUpdatePolicy policy = policy(servers, 0);
+        final TestExecutor executor = new TestExecutor();
+        final ServerIdentity slow = servers.get(1);
+        executor.silent.add(slow);
+        executor.ignoreCancel = true;
+
+        final long start = System.currentTimeMillis();
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 0, 0, 100).execute();
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 10000);
+        Assert.assertEquals(Collections.singletonList(slow), executor.cancelled);
+        Assert.assertEquals(2, executor.preparedResults.size());
+        Assert.assertTrue(policy.isFailed());
+    }
+
+    @Test
+    public void testTimeoutFreesWindow() {
+        final List<ServerIdentity> servers = servers(1, 4);
+        final ServerUpdatePolicy policy = policy(servers, 1);
+        final TestExecutor executor = new TestExecutor();
+        executor.silent.add(servers.get(0));
+
+        new ConcurrentServerGroupUpdateTask(tasks(servers, policy), policy, executor, null, 1, 0, 100).execute();
+
+        Assert.assertEquals(servers, executor.executed);
+        Assert.assertEquals(Collections.singletonList(servers.get(0)), executor.cancelled);
+        Assert.assertFalse(policy.isFailed());
+    }
+
+    private static List<ServerIdentity> servers(final int hosts, final int serversPerHost) {
+        final List<ServerIdentity> servers = new ArrayList<ServerIdentity>();
+        for (int i = 0; i < hosts; i++) {
+            for (int j = 0; j < serversPerHost; j++) {
+                servers.add(new ServerIdentity("host-" + i, GROUP, "server-" + i + "-" + j));
+            }
+        }
+        return servers;
+    }
+
+    private static ServerUpdatePolicy policy(final List<ServerIdentity> servers, final int maxFailures) {
+        final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+        return new ServerUpdatePolicy(parent, GROUP, new HashSet<ServerIdentity>(servers), maxFailures);
+    }
+
+    private static List<ServerUpdateTask> tasks(final List<ServerIdentity> servers, final ServerUpdatePolicy policy) {
+        final List<ServerUpdateTask> tasks = new ArrayList<ServerUpdateTask>();
+        for (ServerIdentity server : servers) {
+            final ModelNode op = new ModelNode();
+            op.get(OP).set("test");
+            tasks.add(new RunningServerUpdateTask(server, op, policy));
+        }
+        return tasks;
+    }
+
+    /**
+     * Executes server tasks by answering them immediately, except for the {@code silent} servers.
+     */
+    private static class TestExecutor extends ServerTaskExecutor {
+
+        private final List<ServerIdentity> executed = new ArrayList<ServerIdentity>();
+        private final List<ServerIdentity> cancelled = new ArrayList<ServerIdentity>();
+        private final Set<ServerIdentity> failing = new HashSet<ServerIdentity>();
+        private final Set<ServerIdentity> silent = new HashSet<ServerIdentity>();
+        private final List<ServerPreparedResponse> preparedResults;
+        private final Set<ServerIdentity> outstanding = new HashSet<ServerIdentity>();
+        private final Map<ServerIdentity, TransactionalProtocolClient.TransactionalOperationListener<ServerOperation>> listeners = new HashMap<ServerIdentity, TransactionalProtocolClient.TransactionalOperationListener<ServerOperation>>();
+        private final Map<ServerIdentity, ServerOperation> operations = new HashMap<ServerIdentity, ServerOperation>();
+        private boolean ignoreCancel;
+        private int maxOutstanding;
+        private int maxOutstandingPerHost;
+
+        private TestExecutor() {
+            this(new ArrayList<ServerPreparedResponse>());
+        }
+
+        private TestExecutor(final List<ServerPreparedResponse> preparedResults) {
+            super(null, new HashMap<ServerIdentity, ExecutedServerRequest>(), preparedResults);
+            this.preparedResults = preparedResults;
+        }
+
+        @Override
+        protected boolean execute(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener,
+                                  final ServerIdentity identity, final ModelNode operation) {
+            executed.add(identity);
+            outstanding.add(identity);
+            maxOutstanding = Math.max(maxOutstanding, outstanding.size());
+            int onHost = 0;
+            for (ServerIdentity server : outstanding) {
+                if (server.getHostName().equals(identity.getHostName())) {
+                    onHost++;
+                }
+            }
+            maxOutstandingPerHost = Math.max(maxOutstandingPerHost, onHost);
+
+            final ServerOperation serverOperation = new ServerOperation(identity, operation, null, null, OperationResultTransformer.ORIGINAL_RESULT);
+            listeners.put(identity, listener);
+            operations.put(identity, serverOperation);
+            if (failing.contains(identity)) {
+                listener.operationPrepared(BlockingQueueOperationListener.FailedOperation.create(serverOperation, "failed"));
+            } else if (!silent.contains(identity)) {
+                listener.operationPrepared(new PreparedServerOperation(serverOperation));
+            }
+            return true;
+        }
+
+        @Override
+        public boolean cancelTask(final ServerIdentity toCancel) {
+            cancelled.add(toCancel);
+            if (!ignoreCancel) {
+                listeners.get(toCancel).operationPrepared(BlockingQueueOperationListener.FailedOperation.create(operations.get(toCancel), "cancelled"));
+            }
+            return true;
+        }
+
+        @Override
+        void recordPreparedOperation(final TransactionalProtocolClient.PreparedOperation<ServerOperation> preparedOperation) {
+            outstanding.remove(preparedOperation.getOperation().getIdentity());
+            super.recordPreparedOperation(preparedOperation);
+        }
+    }
+
+    private static class PreparedServerOperation implements TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> {
+
+        private final ServerTaskExecutor.ServerOperation operation;
+
+        private PreparedServerOperation(final ServerTaskExecutor.ServerOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public ServerTaskExecutor.ServerOperation getOperation() {
+            return operation;
+        }
+
+        @Override
+        public ModelNode getPreparedResult() {
+            final ModelNode result = new ModelNode();
+            result.get(OUTCOME).set(SUCCESS);
+            return result;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> getFinalResult() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORED_RESOURCES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORE_UNUSED_CONFIG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INITIAL_SERVER_GROUPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MAJOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_CODENAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_VERSION;
+
+import java.util.Collections;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TransformedDomainModelCache}.
+ */
+public class TransformedDomainModelCacheTestCase {
+
+    private static final byte[] HASH = new byte[] {1, 2, 3};
+
+    @Test
+    public void testSameVersionsShareEntry() {
+        TransformedDomainModelCache cache = new TransformedDomainModelCache();
+        TransformedDomainModelCache.Slot first = cache.getSlot(createHostInfo("one", 3, 0), subsystems("logging", "1.2.0", "jmx", "2.0.0"));
+        Assert.assertNull(first.get(HASH));
+        first.put(HASH, Collections.singletonList(description()), Collections.singleton(PathElement.pathElement(PROFILE, "default")));
+
+        // Subsystem versions reported in a different order are the same version set
+        TransformedDomainModelCache.Slot second = cache.getSlot(createHostInfo("two", 3, 0), subsystems("jmx", "2.0.0", "logging", "1.2.0"));
+        TransformedDomainModelCache.Entry entry = second.get(HASH);
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(Collections.singletonList(description()), entry.getDescribedResources());
+        Assert.assertEquals(Collections.singleton(PathElement.pathElement(PROFILE, "default")), entry.getNewRootResources());
+    }
+
+    @Test
+    public void testDifferentVersionsDoNotShareEntry() {
+        TransformedDomainModelCache cache = new TransformedDomainModelCache();
+        cache.getSlot(createHostInfo("one", 3, 0), subsystems("logging", "1.2.0", "jmx", "2.0.0"))
+                .put(HASH, Collections.singletonList(description()), Collections.<PathElement>emptySet());
+
+        Assert.assertNull(cache.getSlot(createHostInfo("two", 2, 0), subsystems("logging", "1.2.0", "jmx", "2.0.0")).get(HASH));
+        Assert.assertNull(cache.getSlot(createHostInfo("two", 3, 0), subsystems("logging", "1.1.0", "jmx", "2.0.0")).get(HASH));
+
+        ModelNode ignoring = createHostInfoModel("two", 3, 0);
+        ignoring.get(IGNORED_RESOURCES, PROFILE, NAMES).add("default");
+        Assert.assertNull(cache.getSlot(HostInfo.fromModelNode(ignoring), subsystems("logging", "1.2.0", "jmx", "2.0.0")).get(HASH));
+    }
+
+    @Test
+    public void testChangedDomainModelIsNotReused() {
+        TransformedDomainModelCache cache = new TransformedDomainModelCache();
+        TransformedDomainModelCache.Slot slot = cache.getSlot(createHostInfo("one", 3, 0), subsystems("logging", "1.2.0", "jmx", "2.0.0"));
+        slot.put(HASH, Collections.singletonList(description()), Collections.<PathElement>emptySet());
+        Assert.assertNull(slot.get(new byte[] {1, 2, 4}));
+    }
+
+    @Test
+    public void testIgnoreUnaffectedConfigIsNotCached() {
+        ModelNode model = createHostInfoModel("one", 3, 0);
+        model.get(IGNORE_UNUSED_CONFIG).set(true);
+        model.get(INITIAL_SERVER_GROUPS).setEmptyObject();
+        Assert.assertNull(new TransformedDomainModelCache().getSlot(HostInfo.fromModelNode(model), subsystems("logging", "1.2.0", "jmx", "2.0.0")));
+    }
+
+    @Test
+    public void testCachedDescriptionsAreProtected() {
+        TransformedDomainModelCache cache = new TransformedDomainModelCache();
+        TransformedDomainModelCache.Slot slot = cache.getSlot(createHostInfo("one", 3, 0), subsystems("logging", "1.2.0", "jmx", "2.0.0"));
+        slot.put(HASH, Collections.singletonList(description()), Collections.<PathElement>emptySet());
+        try {
+            slot.get(HASH).getDescribedResources().get(0).get("domain-resource-model", "name").set("changed");
+            Assert.fail("cached description was modified");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    private static HostInfo createHostInfo(String name, int major, int minor) {
+        return HostInfo.fromModelNode(createHostInfoModel(name, major, minor));
+    }
+
+    private static ModelNode createHostInfoModel(String name, int major, int minor) {
+        ModelNode model = new ModelNode();
+        model.get(NAME).set(name);
+        model.get(RELEASE_VERSION).set("test");
+        model.get(RELEASE_CODENAME).set("test");
+        model.get(MANAGEMENT_MAJOR_VERSION).set(major);
+        model.get(MANAGEMENT_MINOR_VERSION).set(minor);
+        return model;
+    }
+
+    private static ModelNode subsystems(String... namesAndVersions) {
+        ModelNode subsystems = new ModelNode();
+        for (int i = 0; i < namesAndVersions.length; i += 2) {
+            subsystems.get(namesAndVersions[i]).set(namesAndVersions[i + 1]);
+        }
+        return subsystems;
+    }
+
+    private static ModelNode description() {
+        ModelNode description = new ModelNode();
+        description.get("domain-resource-address").setEmptyList();
+        description.get("domain-resource-model", "name").set("domain");
+        return description;
+    }
+}
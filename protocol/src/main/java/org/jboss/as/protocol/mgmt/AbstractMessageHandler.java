@@ -212,7 +212,7 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
                 @Override
                 public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
                     final MessageOutputStream os = channel.writeMessage();
-                    return writeHeader(header, os);
+                    return writeMessageHeader(header, os);
                 }
             });
 
@@ -339,7 +339,7 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
                 @Override
                 public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
                     final MessageOutputStream os = channel.writeMessage();
-                    return writeHeader(header, os);
+                    return writeMessageHeader(header, os);
                 }
 
             });
@@ -445,6 +445,20 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
         return output;
     }
 
+    /**
+     * Write the management protocol header of a message, which the caller completes by closing the returned output.
+     *
+     * @param header the mgmt protocol header
+     * @param os the message output stream
+     * @return the data output for the rest of the message
+     * @throws IOException
+     */
+    private static FlushableDataOutput writeMessageHeader(final ManagementProtocolHeader header, final OutputStream os) throws IOException {
+        final FlushableDataOutput output = FlushableDataOutputImpl.createForMessage(os);
+        header.write(output);
+        return output;
+    }
+
     /**
      * Get a fallback handler.
      *
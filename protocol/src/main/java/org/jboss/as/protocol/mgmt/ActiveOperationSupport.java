@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -74,13 +75,13 @@ class ActiveOperationSupport {
         }
     };
 
+    // The active operations, keyed by their operation id. Registering an operation claims its id, so registration and
+    // removal do not need any further locking
     private final ConcurrentMap<Integer, ActiveOperationImpl<?, ?>> activeRequests = new ConcurrentHashMap<Integer, ActiveOperationImpl<?, ?>> (16, 0.75f, Runtime.getRuntime().availableProcessors());
-    private final ManagementBatchIdManager operationIdManager = new ManagementBatchIdManager.DefaultManagementBatchIdManager();
 
+    // The lock is only used to wait for the completion of the active operations after shutdown
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition condition = lock.newCondition();
-    // mutable variables, have to be guarded by the lock
-    private int activeCount = 0;
     private volatile boolean shutdown = false;
 
     protected ActiveOperationSupport() {
@@ -146,29 +147,28 @@ class ActiveOperationSupport {
      * @throws java.lang.IllegalStateException if an operation with the same id is already registered
      */
     protected <T, A> ActiveOperation<T, A> registerActiveOperation(final Integer id, A attachment, ActiveOperation.CompletedCallback<T> callback) {
-        lock.lock(); try {
-            // Check that we still allow registration
-            assert ! shutdown;
-            final Integer operationId;
-            if(id == null) {
-                // If we did not get an operationId, create a new one
-                operationId = operationIdManager.createBatchId();
-            } else {
-                // Check that the operationId is not already taken
-                if(! operationIdManager.lockBatchId(id)) {
-                    throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(id);
-                }
-                operationId = id;
+        // Check that we still allow registration
+        assert ! shutdown;
+        final ActiveOperation.CompletedCallback<T> checkedCallback = getCheckedCallback(callback);
+        if(id != null) {
+            // Check that the operationId is not already taken
+            final ActiveOperationImpl<T, A> request = new ActiveOperationImpl<T, A>(id, attachment, checkedCallback);
+            if(activeRequests.putIfAbsent(id, request) != null) {
+                throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(id);
             }
-            final ActiveOperationImpl<T, A> request = new ActiveOperationImpl<T, A>(operationId, attachment, getCheckedCallback(callback));
-            final ActiveOperation<?, ?> existing =  activeRequests.putIfAbsent(operationId, request);
-            if(existing != null) {
-                throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(operationId);
-            }
-            activeCount++; // condition.signalAll();
             return request;
-        } finally {
-            lock.unlock();
+        }
+        // If we did not get an operationId, create a new one
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for(;;) {
+            final Integer operationId = random.nextInt(Integer.MAX_VALUE);
+            if(activeRequests.containsKey(operationId)) {
+                continue;
+            }
+            final ActiveOperationImpl<T, A> request = new ActiveOperationImpl<T, A>(operationId, attachment, checkedCallback);
+            if(activeRequests.putIfAbsent(operationId, request) == null) {
+                return request;
+            }
         }
     }
 
@@ -200,18 +200,17 @@ class ActiveOperationSupport {
      * @return the removed active operation, {@code null} if there was no registered operation
      */
     protected <T, A> ActiveOperation<T, A> removeActiveOperation(final Integer id) {
-        lock.lock(); try {
-            final ActiveOperation<?, ?> removed = activeRequests.remove(id);
-            if(removed != null) {
-                activeCount--;
-                operationIdManager.freeBatchId(id);
+        final ActiveOperation<?, ?> removed = activeRequests.remove(id);
+        if(removed != null && shutdown) {
+            // Only wake up threads awaiting the completion of the remaining operations
+            lock.lock(); try {
                 condition.signalAll();
+            } finally {
+                lock.unlock();
             }
-            //noinspection unchecked
-            return (ActiveOperation<T, A>) removed;
-        } finally {
-            lock.unlock();
         }
+        //noinspection unchecked
+        return (ActiveOperation<T, A>) removed;
     }
 
     /**
@@ -258,11 +257,7 @@ class ActiveOperationSupport {
      * Prevent new active operations get registered.
      */
     protected void shutdown() {
-        lock.lock(); try {
-            shutdown = true;
-        } finally {
-            lock.unlock();
-        }
+        shutdown = true;
     }
 
     /**
@@ -277,14 +272,14 @@ class ActiveOperationSupport {
         long deadline = unit.toMillis(timeout) + System.currentTimeMillis();
         lock.lock(); try {
             assert shutdown;
-            while(activeCount != 0) {
+            while(! activeRequests.isEmpty()) {
                 long remaining = deadline - System.currentTimeMillis();
                 if (remaining <= 0) {
-                    return activeCount == 0;
+                    return activeRequests.isEmpty();
                 }
                 condition.await(remaining, TimeUnit.MILLISECONDS);
             }
-            return activeCount == 0;
+            return true;
         } finally {
             lock.unlock();
         }
@@ -19,6 +19,7 @@
 package org.jboss.as.protocol.mgmt;
 
 import java.io.Closeable;
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -29,6 +30,13 @@ import java.io.OutputStream;
  */
 class FlushableDataOutputImpl implements FlushableDataOutput, Closeable {
 
+    /**
+     * Whether the writes of a message are buffered, so that the header and a small body are passed to the channel
+     * in a single write instead of one write per field.
+     */
+    static final boolean BUFFERED_WRITES = Boolean.parseBoolean(SecurityActions.getSystemProperty("jboss.management.channel.buffered-writes", "false"));
+    static final int BUFFER_SIZE = 8192;
+
     private final DataOutputStream delegate;
 
     public FlushableDataOutputImpl(DataOutputStream delegate) {
@@ -39,6 +47,20 @@ class FlushableDataOutputImpl implements FlushableDataOutput, Closeable {
         return new FlushableDataOutputImpl(new DataOutputStream(output));
     }
 
+    /**
+     * Create an output for a complete message, which the caller has to {@link #close()}.
+     *
+     * @param output the message output stream
+     * @return the data output
+     */
+    static FlushableDataOutput createForMessage(OutputStream output) {
+        if (BUFFERED_WRITES) {
+            // flush() and close() write the buffered data through to the message
+            return new FlushableDataOutputImpl(new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE)));
+        }
+        return create(output);
+    }
+
     @Override
     public void write(int b) throws IOException {
         delegate.write(b);
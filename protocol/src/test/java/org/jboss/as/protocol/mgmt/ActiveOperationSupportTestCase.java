@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.protocol.mgmt;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the active operation bookkeeping in {@link ActiveOperationSupport}.
+ */
+public class ActiveOperationSupportTestCase {
+
+    @Test
+    public void testGeneratedIdsAreUnique() {
+        final ActiveOperationSupport support = new ActiveOperationSupport();
+        final Set<Integer> ids = new HashSet<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            final ActiveOperation<Object, Object> operation = support.registerActiveOperation(null);
+            Assert.assertTrue(ids.add(operation.getOperationId()));
+            Assert.assertSame(operation, support.getActiveOperation(operation.getOperationId()));
+        }
+    }
+
+    @Test
+    public void testDuplicateIdIsRejected() {
+        final ActiveOperationSupport support = new ActiveOperationSupport();
+        final ActiveOperation<Object, Object> operation = support.registerActiveOperation(1, (Object) null);
+        try {
+            support.registerActiveOperation(1, (Object) null);
+            Assert.fail("Registering the same operation id twice should fail");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        Assert.assertSame(operation, support.getActiveOperation(1));
+
+        // Once completed, the id can be used again
+        operation.getResultHandler().done(null);
+        Assert.assertNull(support.getActiveOperation(1));
+        Assert.assertNotNull(support.registerActiveOperation(1, (Object) null));
+    }
+
+    @Test
+    public void testConcurrentRegistration() throws InterruptedException {
+        final ActiveOperationSupport support = new ActiveOperationSupport();
+        final int threads = 4;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 10000; i++) {
+                            support.registerActiveOperation(null).getResultHandler().done(null);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        support.shutdown();
+        Assert.assertTrue(support.awaitCompletion(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAwaitCompletion() throws InterruptedException {
+        final ActiveOperationSupport support = new ActiveOperationSupport();
+        final ActiveOperation<Object, Object> operation = support.registerActiveOperation(null);
+        support.shutdown();
+        Assert.assertFalse(support.awaitCompletion(10, TimeUnit.MILLISECONDS));
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                operation.getResultHandler().done(null);
+            }
+        }).start();
+        Assert.assertTrue(support.awaitCompletion(10, TimeUnit.SECONDS));
+    }
+}
@@ -34,14 +34,14 @@ import org.jboss.msc.value.InjectedValue;
 import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
 
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -90,7 +90,12 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * Queued tasks. These are polled whenever a request completes, so they are kept in lock free queues. Tasks that
+     * are allowed to run while the container is suspended are kept apart, so they can be found without scanning.
+     */
+    private final Queue<QueuedTask> taskQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<QueuedTask> forcedTaskQueue = new ConcurrentLinkedQueue<>();
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -121,9 +126,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            runQueuedTask(false);
-        }
+        runQueuedTasks();
     }
 
     /**
@@ -209,9 +212,16 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     RunResult beginRequest(boolean force) {
         int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
         boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
+        if (maxRequests <= 0) {
+            // No limit to enforce, so there is no need for a compare and set loop
+            if (!paused || force) {
+                activeRequestCountUpdater.incrementAndGet(this);
+                success = true;
+            }
+        }
+        int active = activeRequestCountUpdater.get(this);
+        while (!success && (maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
             if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
                 success = true;
                 break;
@@ -234,7 +244,10 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     void requestComplete() {
-        runQueuedTask(true);
+        if (!runQueuedTask(true)) {
+            // A task may have been queued after we looked, but before its own attempt to get a permit saw ours released
+            runQueuedTasks();
+        }
     }
 
     private void decrementRequestCount() {
@@ -303,11 +316,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            if(!runQueuedTask(false)) {
-                break;
-            }
-        }
+        runQueuedTasks();
     }
 
     /**
@@ -328,11 +337,12 @@ public class RequestController implements Service<RequestController>, ServerActi
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
         timer.cancel();
         timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
-                t.run();
-            }
+        QueuedTask t;
+        while ((t = forcedTaskQueue.poll()) != null) {
+            t.run();
+        }
+        while ((t = taskQueue.poll()) != null) {
+            t.run();
         }
     }
 
@@ -357,7 +367,7 @@ public class RequestController implements Service<RequestController>, ServerActi
             }
         }
         QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        (forceRun ? forcedTaskQueue : taskQueue).add(queuedTask);
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
@@ -366,53 +376,53 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
+    /**
+     * Runs queued tasks for as long as there are both tasks and free permits.
+     */
+    private void runQueuedTasks() {
+        while (!forcedTaskQueue.isEmpty() || (!paused && !taskQueue.isEmpty())) {
+            if (!runQueuedTask(false)) {
+                break;
+            }
+        }
+    }
+
     /**
      * Runs a queued task, if the queue is not already empty.
      *
      * Note that this will decrement the request count if there are no queued tasks to be run
      *
      * @param hasPermit If the caller has already called {@link #beginRequest(boolean force)}
+     * @return {@code true} if a task was run
      */
     private boolean runQueuedTask(boolean hasPermit) {
-        QueuedTask task = null;
-        if(!hasPermit) {
-            if(!paused) {
-                if (beginRequest(false) == RunResult.REJECTED) {
-                    return false;
-                }
-                task = taskQueue.poll();
-            } else {
-                //the container is suspended, but we still need to run any force queued tasks
-                List<QueuedTask> storage = new ArrayList<>();
-                while (task == null && !taskQueue.isEmpty()) {
-                    QueuedTask tmp = taskQueue.poll();
-                    if(tmp.forceRun) {
-                        task = tmp;
-                    } else {
-                        storage.add(tmp);
-                    }
-                }
-                //this screws the order somewhat, but the container is suspending anyway, and the order
-                //was never guarenteed. if we push them back onto the front we will need to just go through them again
-                taskQueue.addAll(storage);
-                if(task == null) {
-                    return false;
-                }
-                //after all that we are at the max request limit anyway
-                if (beginRequest(true) == RunResult.REJECTED) {
-                    return false;
-                }
+        if (!hasPermit) {
+            //if the container is suspended we still need to run any force queued tasks
+            final boolean suspended = paused;
+            if (suspended ? forcedTaskQueue.isEmpty() : forcedTaskQueue.isEmpty() && taskQueue.isEmpty()) {
+                return false;
+            }
+            if (beginRequest(suspended) == RunResult.REJECTED) {
+                return false;
             }
         }
-        if(task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
+        QueuedTask task;
+        while ((task = pollTask()) != null) {
+            // tasks that have timed out are still in the queue, skip them and hand the permit to the next one
+            if (task.runRequest()) {
+                return true;
             }
-            return true;
-        } else {
-            decrementRequestCount();
-            return false;
         }
+        decrementRequestCount();
+        return false;
+    }
+
+    private QueuedTask pollTask() {
+        QueuedTask task = forcedTaskQueue.poll();
+        if (task == null && !paused) {
+            task = taskQueue.poll();
+        }
+        return task;
     }
 
     private static final class ControlPointIdentifier {
@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.server.suspend.ServerActivityCallback;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the request limit and queueing of {@link RequestController} when it is hit from many threads at once.
+ */
+public class RequestControllerConcurrencyTestCase {
+
+    private static final int THREADS = 64;
+    private static final int REQUESTS_PER_THREAD = 2000;
+    private static final int MAX_REQUESTS = 8;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private ExecutorService callers;
+    private ExecutorService workers;
+
+    @Before
+    public void setUp() {
+        callers = Executors.newFixedThreadPool(THREADS);
+        workers = Executors.newFixedThreadPool(16);
+    }
+
+    @After
+    public void tearDown() {
+        callers.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void testRequestLimit() throws Exception {
+        final RequestController controller = new RequestController(true);
+        controller.setMaxRequestCount(MAX_REQUESTS);
+        final ControlPoint controlPoint = controller.getControlPoint("test.war", "web");
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    try {
+                        if (controlPoint.beginRequest() == RunResult.RUN) {
+                            try {
+                                recordRunning();
+                            } finally {
+                                controlPoint.requestComplete();
+                            }
+                            completed.incrementAndGet();
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        });
+
+        Assert.assertTrue("Saw " + maxRunning.get() + " requests running at once", maxRunning.get() <= MAX_REQUESTS);
+        Assert.assertEquals(THREADS * REQUESTS_PER_THREAD, completed.get() + rejected.get());
+        Assert.assertTrue(completed.get() > 0);
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+        Assert.assertEquals(0, controlPoint.getActiveRequestCount());
+    }
+
+    @Test
+    public void testQueuedTasksAllRun() throws Exception {
+        final RequestController controller = new RequestController(true);
+        controller.setMaxRequestCount(MAX_REQUESTS);
+        final ControlPoint controlPoint = controller.getControlPoint("test.war", "web");
+        final int tasksPerThread = 200;
+        final CountDownLatch done = new CountDownLatch(THREADS * tasksPerThread);
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                recordRunning();
+                done.countDown();
+            }
+        };
+
+        runConcurrently(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < tasksPerThread; i++) {
+                    controlPoint.queueTask(task, workers, -1, null, false);
+                }
+            }
+        });
+
+        Assert.assertTrue("Queued tasks did not all run", done.await(30, TimeUnit.SECONDS));
+        Assert.assertTrue("Saw " + maxRunning.get() + " tasks running at once", maxRunning.get() <= MAX_REQUESTS);
+        // The permit is released after the task has counted down, give the last ones a moment
+        for (int i = 0; i < 100 && controller.getActiveRequestCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+        Assert.assertEquals(0, controlPoint.getActiveRequestCount());
+    }
+
+    @Test
+    public void testForcedTasksRunWhileSuspended() throws Exception {
+        final RequestController controller = new RequestController(true);
+        final ControlPoint controlPoint = controller.getControlPoint("test.war", "web");
+        final CountDownLatch normal = new CountDownLatch(1);
+        final CountDownLatch forced = new CountDownLatch(1);
+
+        controller.suspended(new ServerActivityCallback() {
+            @Override
+            public void done() {
+            }
+        });
+        controlPoint.queueTask(countDown(normal), workers, -1, null, false);
+        controlPoint.forceQueueTask(countDown(forced), workers);
+
+        Assert.assertTrue(forced.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, normal.getCount());
+
+        controller.resume();
+        Assert.assertTrue(normal.await(10, TimeUnit.SECONDS));
+    }
+
+    private void recordRunning() {
+        int current = running.incrementAndGet();
+        int max;
+        while (current > (max = maxRunning.get()) && !maxRunning.compareAndSet(max, current)) {
+            // retry
+        }
+        running.decrementAndGet();
+    }
+
+    private void runConcurrently(final Runnable body) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(callers.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    body.run();
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Runnable countDown(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+}
@@ -52,6 +52,7 @@ import org.jboss.as.controller.RunningModeControl;
 import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.registry.PlaceholderResource;
@@ -387,6 +388,17 @@ public final class ServerService extends AbstractControllerService {
         super.stop(context);
     }
 
+    @Override
+    protected void stopAsynchronous(StopContext context) {
+        if (extensibleConfigurationPersister instanceof BackupXmlConfigurationPersister) {
+            try {
+                ((BackupXmlConfigurationPersister) extensibleConfigurationPersister).flush();
+            } catch (ConfigurationPersistenceException e) {
+                ServerLogger.ROOT_LOGGER.errorf(e, e.toString());
+            }
+        }
+    }
+
     @Override
     protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
         Resource rootResource = managementModel.getRootResource();
@@ -95,6 +95,7 @@ import org.jboss.as.server.mgmt.NativeManagementResourceDefinition;
 import org.jboss.as.server.mgmt.NativeRemotingManagementResourceDefinition;
 import org.jboss.as.server.operations.CleanObsoleteContentHandler;
 import org.jboss.as.server.operations.LaunchTypeHandler;
+import org.jboss.as.server.operations.PendingConfigurationWritesHandler;
 import org.jboss.as.server.operations.ProcessTypeHandler;
 import org.jboss.as.server.operations.RunningModeReadHandler;
 import org.jboss.as.server.operations.ServerDomainProcessReloadHandler;
@@ -196,6 +197,10 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             .setStorageRuntime()
             .build();
 
+    public static final SimpleAttributeDefinition PENDING_CONFIGURATION_WRITES = SimpleAttributeDefinitionBuilder.create(ServerDescriptionConstants.PENDING_CONFIGURATION_WRITES, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+
 
     private final boolean isDomain;
     private final ContentRepository contentRepository;
@@ -374,6 +379,8 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         if (isDomain) {
             resourceRegistration.registerReadOnlyAttribute(HOST, null);
             resourceRegistration.registerReadOnlyAttribute(SERVER_GROUP, null);
+        } else {
+            resourceRegistration.registerMetric(PENDING_CONFIGURATION_WRITES, new PendingConfigurationWritesHandler(extensibleConfigurationPersister));
         }
     }
 
@@ -37,6 +37,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexCache;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.services.security.AbstractVaultReader;
@@ -149,7 +150,7 @@ public class DeploymentHandlerUtil {
         }
         DeploymentOverlayIndex overlays = DeploymentOverlayIndex.createDeploymentOverlayIndex(context);
 
-        final RootDeploymentUnitService service = new RootDeploymentUnitService(deploymentUnitName, managementName, null, registration, mutableRegistration, deploymentResource, vaultReader, overlays);
+        final RootDeploymentUnitService service = new RootDeploymentUnitService(deploymentUnitName, managementName, null, registration, mutableRegistration, deploymentResource, vaultReader, overlays, contents[0].hash);
         final ServiceController<DeploymentUnit> deploymentUnitController = serviceTarget.addService(deploymentUnitServiceName, service)
                 .addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, service.getDeployerChainsInjector())
                 .addDependency(DeploymentMountProvider.SERVICE_NAME, DeploymentMountProvider.class, service.getServerDeploymentRepositoryInjector())
@@ -310,6 +311,7 @@ public class DeploymentHandlerUtil {
                                 }
                             } else {
                                 ServerLogger.ROOT_LOGGER.deploymentUndeployed(managementName, deploymentUnitName);
+                                removeAnnotationIndexCache(context, managementName);
                             }
                         }
                     });
@@ -318,6 +320,19 @@ public class DeploymentHandlerUtil {
         }
     }
 
+    /**
+     * Deletes the annotation indexes cached for a deployment that has been undeployed or removed.
+     *
+     * @param context the operation context
+     * @param managementName the management name of the deployment
+     */
+    static void removeAnnotationIndexCache(final OperationContext context, final String managementName) {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(PathManagerService.SERVICE_NAME);
+        if (controller != null) {
+            AnnotationIndexCache.remove((PathManager) controller.getValue(), managementName);
+        }
+    }
+
     private static String getFormattedFailureDescription(OperationContext context) {
         ModelNode failureDescNode = context.getFailureDescription();
         String failureDesc = failureDescNode.toString();
@@ -106,6 +106,7 @@ public class DeploymentRemoveHandler implements OperationStepHandler {
                                 if (enabled) {
                                     ServerLogger.ROOT_LOGGER.deploymentUndeployed(managementName, deploymentUnitName);
                                 }
+                                DeploymentHandlerUtil.removeAnnotationIndexCache(context, managementName);
                                 Set<String> newHash;
                                 try {
                                     newHash = DeploymentUtils.getDeploymentHexHash(context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel());
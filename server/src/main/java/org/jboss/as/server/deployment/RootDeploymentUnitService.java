@@ -51,6 +51,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private Resource resource;
     private final AbstractVaultReader vaultReader;
     private final DeploymentOverlayIndex deploymentOverlays;
+    private final byte[] contentHash;
 
     /**
      * Construct a new instance.
@@ -65,6 +66,23 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param deploymentOverlays the deployment overlays
      */
     public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent, final ImmutableManagementResourceRegistration registration, final ManagementResourceRegistration mutableRegistration, Resource resource, final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays) {
+        this(name, managementName, parent, registration, mutableRegistration, resource, vaultReader, deploymentOverlays, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the deployment unit simple name
+     * @param managementName the deployment's domain-wide unique name
+     * @param parent the parent deployment unit
+     * @param registration the registration
+     * @param mutableRegistration the mutable registration
+     * @param resource the model
+     * @param vaultReader the vault reader
+     * @param deploymentOverlays the deployment overlays
+     * @param contentHash the content repository hash of the deployment contents, or {@code null} for unmanaged content
+     */
+    public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent, final ImmutableManagementResourceRegistration registration, final ManagementResourceRegistration mutableRegistration, Resource resource, final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays, final byte[] contentHash) {
         assert name != null : "name is null";
         this.name = name;
         this.managementName = managementName;
@@ -74,6 +92,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         this.resource = resource;
         this.vaultReader = vaultReader;
         this.deploymentOverlays = deploymentOverlays;
+        this.contentHash = contentHash;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
@@ -81,6 +100,9 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.RUNTIME_NAME, name);
         deploymentUnit.putAttachment(Attachments.MANAGEMENT_NAME, managementName);
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENTS, contentsInjector.getValue());
+        if (contentHash != null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, contentHash);
+        }
         deploymentUnit.putAttachment(DeploymentResourceSupport.REGISTRATION_ATTACHMENT, registration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.MUTABLE_REGISTRATION_ATTACHMENT, mutableRegistration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.DEPLOYMENT_RESOURCE, resource);
@@ -0,0 +1,327 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.DeploymentUtils;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * Persistent cache of the annotation indexes generated for the resource roots of a deployment, so that a restart or a
+ * redeploy of unchanged content does not have to parse every class again.
+ * <p>
+ * Indexes are kept under {@code jboss.server.data.dir/annotation-index/<deployment name>}, one file per resource root.
+ * Each file starts with the path of the resource root within the deployment and a stamp of the content the index was
+ * generated from; the content repository hash for managed deployments, or a digest of the names, sizes and
+ * modification times of the indexed classes otherwise. Files whose stamp does not match are ignored and overwritten.
+ * The indexes of a deployment are {@link #remove(PathManager, String) removed} when it is undeployed or removed.
+ */
+public final class AnnotationIndexCache {
+
+    static final String CACHE_DIR = "annotation-index";
+
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".idx";
+    /** Contains {@code _} but no digest, so no resource root path maps to it */
+    private static final String ROOT_FILE_NAME = "_ROOT";
+
+    private final File dir;
+    private final VirtualFile deploymentRoot;
+    private final String contentHash;
+
+    private AnnotationIndexCache(final File dir, final VirtualFile deploymentRoot, final String contentHash) {
+        this.dir = dir;
+        this.deploymentRoot = deploymentRoot;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Creates the cache for the resource roots of the given deployment unit.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the cache, or {@code null} if the indexes of this deployment cannot be cached
+     */
+    static AnnotationIndexCache create(final DeploymentUnit deploymentUnit) {
+        final DeploymentUnit top = DeploymentUtils.getTopDeploymentUnit(deploymentUnit);
+        final PathManager pathManager = top.getAttachment(Attachments.PATH_MANAGER);
+        final ResourceRoot deploymentRoot = top.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        final String managementName = top.getAttachment(Attachments.MANAGEMENT_NAME);
+        if (pathManager == null || deploymentRoot == null || managementName == null) {
+            return null;
+        }
+        final DeploymentOverlayIndex overlays = top.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+        final File cacheDir = getCacheDir(pathManager);
+        if (cacheDir == null) {
+            return null;
+        }
+        return create(cacheDir, managementName, deploymentRoot.getRoot(),
+                overlays == null ? null : overlays.getOverlays(top.getName()), top.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH));
+    }
+
+    /**
+     * Creates the cache for the resource roots of a deployment.
+     *
+     * @param cacheDir the directory holding the caches of all deployments
+     * @param managementName the management name of the deployment
+     * @param deploymentRoot the root of the deployment
+     * @param overlays the overlays of the deployment, may be {@code null}
+     * @param contentHash the content repository hash of the deployment, or {@code null} if it is not managed
+     * @return the cache, or {@code null} if the indexes of this deployment cannot be cached
+     */
+    static AnnotationIndexCache create(final File cacheDir, final String managementName, final VirtualFile deploymentRoot,
+                                       final Map<String, byte[]> overlays, final byte[] contentHash) {
+        // overlaid files are not covered by the stamp, so don't bother with deployments that have overlays
+        if (overlays != null && !overlays.isEmpty()) {
+            return null;
+        }
+        return new AnnotationIndexCache(new File(cacheDir, toFileName(managementName)), deploymentRoot,
+                contentHash == null ? null : HashUtil.bytesToHexString(contentHash));
+    }
+
+    /**
+     * Deletes the cached indexes of a deployment.
+     *
+     * @param pathManager the path manager
+     * @param managementName the management name of the deployment
+     */
+    public static void remove(final PathManager pathManager, final String managementName) {
+        final File cacheDir = getCacheDir(pathManager);
+        if (cacheDir != null) {
+            remove(cacheDir, managementName);
+        }
+    }
+
+    static void remove(final File cacheDir, final String managementName) {
+        final File dir = new File(cacheDir, toFileName(managementName));
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Could not delete annotation index cache file %s", file);
+            }
+        }
+        if (!dir.delete()) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf("Could not delete annotation index cache directory %s", dir);
+        }
+    }
+
+    private static File getCacheDir(final PathManager pathManager) {
+        try {
+            return new File(pathManager.resolveRelativePathEntry(CACHE_DIR, ServerEnvironment.SERVER_DATA_DIR));
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the cache entry for a resource root.
+     *
+     * @param root the root of the resource root
+     * @param indexIgnorePaths the paths excluded from the index, may be {@code null}
+     * @return the entry, or {@code null} if the resource root is not part of the deployment content
+     */
+    Entry getEntry(final VirtualFile root, final Set<String> indexIgnorePaths) {
+        final String path;
+        if (root.equals(deploymentRoot)) {
+            path = "";
+        } else {
+            try {
+                path = root.getPathNameRelativeTo(deploymentRoot);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        String ignored = "";
+        if (indexIgnorePaths != null) {
+            final List<String> sorted = new ArrayList<String>(indexIgnorePaths);
+            Collections.sort(sorted);
+            ignored = sorted.toString();
+        }
+        final Entry entry = new Entry(new File(dir, (path.isEmpty() ? ROOT_FILE_NAME : toFileName(path)) + SUFFIX), path, ignored);
+        if (contentHash != null) {
+            entry.stamp = contentHash + ignored;
+        }
+        return entry;
+    }
+
+    /**
+     * Maps a name to a file name. Characters that are not safe in file names are replaced with {@code _}, and a digest
+     * of the original name is then appended so that, for example, {@code "a b"} and {@code "a_b"} get different
+     * files. Names made only of safe characters never contain {@code _}, so they cannot clash with mapped names.
+     */
+    private static String toFileName(final String name) {
+        final StringBuilder builder = new StringBuilder(name.length());
+        boolean replaced = false;
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-') {
+                builder.append(c);
+            } else {
+                builder.append('_');
+                replaced = true;
+            }
+        }
+        if (replaced) {
+            final byte[] digest = sha1().digest(name.getBytes(StandardCharsets.UTF_8));
+            builder.append('-').append(HashUtil.bytesToHexString(digest).substring(0, 16));
+        }
+        return builder.toString();
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The cached index of a single resource root.
+     */
+    static final class Entry {
+
+        private final File file;
+        private final String path;
+        private final String ignored;
+        private String stamp;
+
+        private Entry(final File file, final String path, final String ignored) {
+            this.file = file;
+            this.path = path;
+            this.ignored = ignored;
+        }
+
+        /**
+         * Computes the stamp from the class files of the resource root, unless it is already known from the content hash.
+         *
+         * @param root the root of the resource root
+         * @param classFiles the class files that will be indexed
+         * @return {@code true} if the stamp was computed by this call
+         */
+        boolean stampClasses(final VirtualFile root, final List<VirtualFile> classFiles) {
+            if (stamp != null) {
+                return false;
+            }
+            final MessageDigest digest = sha1();
+            for (VirtualFile classFile : classFiles) {
+                digest.update(classFile.getPathNameRelativeTo(root).getBytes(StandardCharsets.UTF_8));
+                final long size = classFile.getSize();
+                final long lastModified = classFile.getLastModified();
+                for (int i = 0; i < 8; i++) {
+                    digest.update((byte) (size >>> (i * 8)));
+                    digest.update((byte) (lastModified >>> (i * 8)));
+                }
+            }
+            stamp = HashUtil.bytesToHexString(digest.digest()) + ignored;
+            return true;
+        }
+
+        /**
+         * Reads the cached index.
+         *
+         * @return the index, or {@code null} if there is no index cached for the current stamp
+         */
+        Index read() {
+            if (stamp == null || !file.exists()) {
+                return null;
+            }
+            DataInputStream in = null;
+            try {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                if (in.readInt() != VERSION || !path.equals(in.readUTF()) || !stamp.equals(in.readUTF())) {
+                    return null;
+                }
+                return new IndexReader(in).read();
+            } catch (Exception e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Ignoring unreadable annotation index cache file %s", file);
+                return null;
+            } finally {
+                VFSUtils.safeClose(in);
+            }
+        }
+
+        /**
+         * Stores the index in the cache. Failures are logged and otherwise ignored.
+         *
+         * @param index the index
+         */
+        void write(final Index index) {
+            if (stamp == null) {
+                return;
+            }
+            final File parent = file.getParentFile();
+            final File tmp = new File(parent, file.getName() + ".tmp");
+            DataOutputStream out = null;
+            try {
+                if (!parent.isDirectory() && !parent.mkdirs()) {
+                    throw new IOException(parent.getAbsolutePath());
+                }
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+                out.writeInt(VERSION);
+                out.writeUTF(path);
+                out.writeUTF(stamp);
+                new IndexWriter(out).write(index);
+                out.close();
+                out = null;
+                if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))) {
+                    throw new IOException(tmp.getAbsolutePath());
+                }
+            } catch (Exception e) {
+                VFSUtils.safeClose(out);
+                tmp.delete();
+                ServerLogger.DEPLOYMENT_LOGGER.cannotWriteAnnotationIndexCache(file.getAbsolutePath(), e);
+            }
+        }
+    }
+}
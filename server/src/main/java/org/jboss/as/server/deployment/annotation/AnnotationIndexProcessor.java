@@ -39,7 +39,8 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
-     * found in this deployment and attach it to the deployment unit context.
+     * found in this deployment and attach it to the deployment unit context. Indexes are stored in a persistent cache
+     * and reused as long as the content they were generated from is unchanged.
      *
      * @param phaseContext the deployment unit context
      * @throws DeploymentUnitProcessingException
@@ -47,8 +48,9 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final AnnotationIndexCache cache = AnnotationIndexCache.create(deploymentUnit);
         for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
+            ResourceRootIndexer.indexResourceRoot(resourceRoot, cache);
         }
     }
 
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Indexes the class files of a resource root. Large resource roots are split into chunks that are indexed concurrently
+ * by a shared, bounded fork-join pool, each chunk with its own {@link Indexer}, and the partial indexes are then merged
+ * into a single {@link Index}.
+ * <p>
+ * The maximum number of threads used for a single resource root is set with the
+ * {@value #PARALLELISM_PROPERTY} system property, and defaults to the number of available processors. A value of
+ * {@code 1} disables parallel indexing.
+ */
+final class ClassFileIndexer {
+
+    static final String PARALLELISM_PROPERTY = "jboss.as.deployment.index.parallelism";
+
+    /**
+     * The minimum number of classes handed to a single indexing task; smaller resource roots are indexed on the calling
+     * thread.
+     */
+    static final int MIN_CHUNK_SIZE = 256;
+
+    private static final int PARALLELISM;
+
+    static {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        final String value = WildFlySecurityManager.getPropertyPrivileged(PARALLELISM_PROPERTY, null);
+        if (value != null) {
+            try {
+                parallelism = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Ignoring invalid value %s of %s", value, PARALLELISM_PROPERTY);
+            }
+        }
+        PARALLELISM = Math.max(1, parallelism);
+    }
+
+    private ClassFileIndexer() {
+    }
+
+    /**
+     * Indexes the given class files.
+     *
+     * @param root the resource root the class files belong to
+     * @param classFiles the class files
+     * @return the index
+     * @throws Exception if indexing was interrupted or a task failed unexpectedly. Failures to index an individual class
+     *                   are logged, and that class is skipped
+     */
+    static Index index(final VirtualFile root, final List<VirtualFile> classFiles) throws Exception {
+        final int chunks = Math.min(PARALLELISM, classFiles.size() / MIN_CHUNK_SIZE);
+        if (chunks <= 1) {
+            return index(root, classFiles, 0, classFiles.size());
+        }
+        final int chunkSize = (classFiles.size() + chunks - 1) / chunks;
+        final List<ForkJoinTask<Index>> tasks = new ArrayList<ForkJoinTask<Index>>(chunks - 1);
+        try {
+            for (int start = chunkSize; start < classFiles.size(); start += chunkSize) {
+                final int from = start;
+                final int to = Math.min(start + chunkSize, classFiles.size());
+                tasks.add(PoolHolder.POOL.submit(new Callable<Index>() {
+                    @Override
+                    public Index call() throws Exception {
+                        return index(root, classFiles, from, to);
+                    }
+                }));
+            }
+            final List<Index> indexes = new ArrayList<Index>(chunks);
+            // index the first chunk on this thread while the pool does the rest
+            indexes.add(index(root, classFiles, 0, chunkSize));
+            for (ForkJoinTask<Index> task : tasks) {
+                indexes.add(task.get());
+            }
+            return merge(indexes);
+        } finally {
+            for (ForkJoinTask<Index> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    private static Index index(final VirtualFile root, final List<VirtualFile> classFiles, final int from, final int to) {
+        final Indexer indexer = new Indexer();
+        for (int i = from; i < to; i++) {
+            final VirtualFile classFile = classFiles.get(i);
+            InputStream inputStream = null;
+            try {
+                inputStream = classFile.openStream();
+                indexer.index(inputStream);
+            } catch (Exception e) {
+                ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(root), root.getPathName(), e);
+            } finally {
+                VFSUtils.safeClose(inputStream);
+            }
+        }
+        return indexer.complete();
+    }
+
+    /**
+     * Merges indexes of disjoint sets of classes, building the same lookup tables as {@link Indexer} would have built
+     * had it indexed all the classes itself.
+     */
+    static Index merge(final List<Index> indexes) {
+        final Map<DotName, List<AnnotationInstance>> annotations = new HashMap<DotName, List<AnnotationInstance>>();
+        final Map<DotName, List<ClassInfo>> subclasses = new HashMap<DotName, List<ClassInfo>>();
+        final Map<DotName, List<ClassInfo>> implementors = new HashMap<DotName, List<ClassInfo>>();
+        final Map<DotName, ClassInfo> classes = new HashMap<DotName, ClassInfo>();
+        for (Index index : indexes) {
+            for (ClassInfo classInfo : index.getKnownClasses()) {
+                classes.put(classInfo.name(), classInfo);
+                for (Map.Entry<DotName, List<AnnotationInstance>> entry : classInfo.annotations().entrySet()) {
+                    getList(annotations, entry.getKey()).addAll(entry.getValue());
+                }
+                if (classInfo.superName() != null) {
+                    getList(subclasses, classInfo.superName()).add(classInfo);
+                }
+                for (DotName interfaceName : classInfo.interfaces()) {
+                    getList(implementors, interfaceName).add(classInfo);
+                }
+            }
+        }
+        return Index.create(annotations, subclasses, implementors, classes);
+    }
+
+    private static <T> List<T> getList(final Map<DotName, List<T>> map, final DotName name) {
+        List<T> list = map.get(name);
+        if (list == null) {
+            list = new ArrayList<T>();
+            map.put(name, list);
+        }
+        return list;
+    }
+
+    private static final class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+    }
+}
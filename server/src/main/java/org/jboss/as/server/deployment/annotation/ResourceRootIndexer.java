@@ -22,7 +22,6 @@
 
 package org.jboss.as.server.deployment.annotation;
 
-import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -34,8 +33,6 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
-import org.jboss.jandex.Indexer;
-import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
 import org.jboss.vfs.VisitorAttributes;
@@ -50,6 +47,17 @@ public class ResourceRootIndexer {
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root, if it has not already been attached, reusing an index
+     * from the given cache when the content of the resource root has not changed since it was stored.
+     *
+     * @param resourceRoot the resource root
+     * @param cache the index cache of the deployment, may be {@code null}
+     */
+    static void indexResourceRoot(final ResourceRoot resourceRoot, final AnnotationIndexCache cache) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -81,7 +89,15 @@ public class ResourceRootIndexer {
         }
 
         final VirtualFile virtualFile = resourceRoot.getRoot();
-        final Indexer indexer = new Indexer();
+        final AnnotationIndexCache.Entry cacheEntry = cache == null ? null : cache.getEntry(virtualFile, indexIgnorePaths);
+        if (cacheEntry != null) {
+            final Index index = cacheEntry.read();
+            if (index != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index for archive %s", virtualFile);
+                return;
+            }
+        }
         try {
             final VisitorAttributes visitorAttributes = new VisitorAttributes();
             visitorAttributes.setLeavesOnly(true);
@@ -92,20 +108,20 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-            for (VirtualFile classFile : classChildren) {
-                InputStream inputStream = null;
-                try {
-                    inputStream = classFile.openStream();
-                    indexer.index(inputStream);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
-                } finally {
-                    VFSUtils.safeClose(inputStream);
+            if (cacheEntry != null && cacheEntry.stampClasses(virtualFile, classChildren)) {
+                final Index index = cacheEntry.read();
+                if (index != null) {
+                    resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+                    ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index for archive %s", virtualFile);
+                    return;
                 }
             }
-            final Index index = indexer.complete();
+            final Index index = ClassFileIndexer.index(virtualFile, classChildren);
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cacheEntry != null) {
+                cacheEntry.write(index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
@@ -1153,4 +1153,8 @@ public interface ServerLogger extends BasicLogger {
      */
     @Message(id = 230, value = "Vault is not initialized")
     SecurityException vaultNotInitializedException();
+
+    @LogMessage(level = WARN)
+    @Message(id = 231, value = "Could not write annotation index cache file %s")
+    void cannotWriteAnnotationIndexCache(String file, @Cause Throwable cause);
 }
@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the annotation indexes stored by {@link AnnotationIndexCache}.
+ */
+public class AnnotationIndexCacheTestCase {
+
+    private static final String DEPLOYMENT = "test.war";
+    private static final byte[] HASH = "content-hash".getBytes(StandardCharsets.UTF_8);
+
+    private File cacheDir;
+    private VirtualFile deploymentRoot;
+
+    @Before
+    public void setUp() {
+        File base = new File("target", "annotation-index-cache-test");
+        cacheDir = new File(base, "data");
+        File deploymentDir = new File(base, "deployment");
+        deploymentDir.mkdirs();
+        deploymentRoot = VFS.getChild(deploymentDir.getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        AnnotationIndexCache.remove(cacheDir, DEPLOYMENT);
+    }
+
+    @Test
+    public void testWrittenIndexIsRead() throws IOException {
+        Index index = index();
+        cache(HASH).getEntry(deploymentRoot, null).write(index);
+
+        Index read = cache(HASH).getEntry(deploymentRoot, null).read();
+        assertNotNull(read);
+        assertEquals(index.getKnownClasses().size(), read.getKnownClasses().size());
+        assertNotNull(read.getClassByName(DotName.createSimple(AnnotationIndexCacheTestCase.class.getName())));
+    }
+
+    @Test
+    public void testChangedContentIsNotRead() throws IOException {
+        cache(HASH).getEntry(deploymentRoot, null).write(index());
+
+        assertNull(cache("other-hash".getBytes(StandardCharsets.UTF_8)).getEntry(deploymentRoot, null).read());
+        // An unmanaged deployment has no stamp until its classes are scanned
+        assertNull(cache(null).getEntry(deploymentRoot, null).read());
+    }
+
+    @Test
+    public void testChangedIgnorePathsAreNotRead() throws IOException {
+        cache(HASH).getEntry(deploymentRoot, paths("a", "b")).write(index());
+
+        assertNull(cache(HASH).getEntry(deploymentRoot, paths("a")).read());
+        assertNull(cache(HASH).getEntry(deploymentRoot, null).read());
+        // The order of the ignore paths does not matter
+        assertNotNull(cache(HASH).getEntry(deploymentRoot, paths("b", "a")).read());
+    }
+
+    @Test
+    public void testDeploymentWithOverlaysIsNotCached() {
+        assertNull(AnnotationIndexCache.create(cacheDir, DEPLOYMENT, deploymentRoot,
+                Collections.singletonMap("WEB-INF/web.xml", HASH), HASH));
+        assertNotNull(AnnotationIndexCache.create(cacheDir, DEPLOYMENT, deploymentRoot,
+                Collections.<String, byte[]>emptyMap(), HASH));
+    }
+
+    @Test
+    public void testRemove() throws IOException {
+        cache(HASH).getEntry(deploymentRoot, null).write(index());
+
+        AnnotationIndexCache.remove(cacheDir, DEPLOYMENT);
+        assertFalse(new File(cacheDir, DEPLOYMENT).exists());
+        assertNull(cache(HASH).getEntry(deploymentRoot, null).read());
+    }
+
+    @Test
+    public void testSimilarNamesDoNotShareIndexes() throws IOException {
+        try {
+            AnnotationIndexCache.create(cacheDir, "a b.war", deploymentRoot, null, HASH).getEntry(deploymentRoot, null).write(index());
+
+            assertNull(AnnotationIndexCache.create(cacheDir, "a_b.war", deploymentRoot, null, HASH).getEntry(deploymentRoot, null).read());
+            assertNotNull(AnnotationIndexCache.create(cacheDir, "a b.war", deploymentRoot, null, HASH).getEntry(deploymentRoot, null).read());
+        } finally {
+            AnnotationIndexCache.remove(cacheDir, "a b.war");
+            AnnotationIndexCache.remove(cacheDir, "a_b.war");
+        }
+    }
+
+    private AnnotationIndexCache cache(byte[] hash) {
+        return AnnotationIndexCache.create(cacheDir, DEPLOYMENT, deploymentRoot, null, hash);
+    }
+
+    private static Set<String> paths(String... paths) {
+        return new LinkedHashSet<String>(Arrays.asList(paths));
+    }
+
+    private static Index index() throws IOException {
+        final Indexer indexer = new Indexer();
+        final Class<?> clazz = AnnotationIndexCacheTestCase.class;
+        final InputStream in = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+        try {
+            indexer.index(in);
+        } finally {
+            in.close();
+        }
+        return indexer.complete();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.Test;
+
+/**
+ * Tests that merging the partial indexes built by {@link ClassFileIndexer} gives the same results as indexing all
+ * classes with a single {@link Indexer}.
+ */
+public class ClassFileIndexerTestCase {
+
+    @Test
+    public void testMerge() throws IOException {
+        final Index expected = index(Base.class, First.class, Second.class, Marker.class);
+        final Index merged = ClassFileIndexer.merge(Arrays.asList(index(Base.class, Marker.class), index(First.class), index(Second.class)));
+
+        assertEquals(expected.getKnownClasses().size(), merged.getKnownClasses().size());
+        for (ClassInfo classInfo : expected.getKnownClasses()) {
+            assertNotNull(merged.getClassByName(classInfo.name()));
+        }
+        assertEquals(targets(expected.getAnnotations(DotName.createSimple(Marker.class.getName()))),
+                targets(merged.getAnnotations(DotName.createSimple(Marker.class.getName()))));
+        assertEquals(3, merged.getAnnotations(DotName.createSimple(Marker.class.getName())).size());
+        assertEquals(names(expected.getKnownDirectSubclasses(DotName.createSimple(Base.class.getName()))),
+                names(merged.getKnownDirectSubclasses(DotName.createSimple(Base.class.getName()))));
+        assertEquals(2, merged.getKnownDirectSubclasses(DotName.createSimple(Base.class.getName())).size());
+        assertEquals(names(expected.getKnownDirectImplementors(DotName.createSimple(Runnable.class.getName()))),
+                names(merged.getKnownDirectImplementors(DotName.createSimple(Runnable.class.getName()))));
+        assertEquals(1, merged.getKnownDirectImplementors(DotName.createSimple(Runnable.class.getName())).size());
+    }
+
+    private static Index index(final Class<?>... classes) throws IOException {
+        final Indexer indexer = new Indexer();
+        for (Class<?> clazz : classes) {
+            final InputStream in = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+            try {
+                indexer.index(in);
+            } finally {
+                in.close();
+            }
+        }
+        return indexer.complete();
+    }
+
+    private static Set<String> targets(final List<AnnotationInstance> annotations) {
+        final Set<String> targets = new HashSet<String>();
+        for (AnnotationInstance annotation : annotations) {
+            targets.add(annotation.target().toString());
+        }
+        return targets;
+    }
+
+    private static Set<DotName> names(final List<ClassInfo> classes) {
+        final Set<DotName> names = new HashSet<DotName>();
+        for (ClassInfo classInfo : classes) {
+            names.add(classInfo.name());
+        }
+        return names;
+    }
+
+    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    public @interface Marker {
+    }
+
+    @Marker
+    public static class Base {
+    }
+
+    @Marker
+    public static class First extends Base {
+    }
+
+    public static class Second extends Base implements Runnable {
+        @Marker
+        public void run() {
+        }
+    }
+}